@@ -0,0 +1,76 @@
+package com.memorytiles.memorytilesgame.bench;
+
+import com.memorytiles.memorytilesgame.engine.GameEngine;
+import com.memorytiles.memorytilesgame.engine.GameListener;
+import com.memorytiles.memorytilesgame.engine.NoRepeatGenerator;
+import com.memorytiles.memorytilesgame.engine.Sequence;
+import com.memorytiles.memorytilesgame.engine.VirtualScheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The ClickPathBenchmark class measures a correct click going through the
+ * whole engine: verifying the tile, updating the score, restarting the
+ * click flash timer and telling the listener. The engine is first played
+ * up to a level with the given sequence length.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClickPathBenchmark {
+
+    @Param({"3", "7", "64"})
+    public int gridSize;
+
+    @Param({"10", "100", "1000"})
+    public int length;
+
+    private GameEngine engine;
+    private Sequence sequence;
+
+    @Setup
+    public void setUp() {
+        VirtualScheduler scheduler = new VirtualScheduler();
+        engine = new GameEngine(gridSize, gridSize, 3, "Bench", scheduler,
+                new NoRepeatGenerator(gridSize * gridSize, 1, 42), new GameListener() { });
+        sequence = engine.getSequence();
+        engine.start();
+        while (true) {
+            while (engine.getState() != GameEngine.State.AWAITING_INPUT) {
+                scheduler.runNext();
+            }
+            if (engine.getLevel() == length) {
+                break;
+            }
+            while (engine.getState() == GameEngine.State.AWAITING_INPUT) {
+                engine.click(sequence.getExpectedTile());
+            }
+        }
+    }
+
+    /**
+     * Clicks the next expected tile. The last step is never clicked, so
+     * the level does not end; the sequence starts over instead.
+     */
+    @Benchmark
+    public boolean click() {
+        if (sequence.getCurrentIndex() == length - 1) {
+            sequence.rewind();
+        }
+        return engine.click(sequence.getExpectedTile());
+    }
+}
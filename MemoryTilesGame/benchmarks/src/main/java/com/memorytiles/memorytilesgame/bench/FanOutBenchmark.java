@@ -0,0 +1,185 @@
+package com.memorytiles.memorytilesgame.bench;
+
+import com.memorytiles.memorytilesgame.broadcast.BoardState;
+import com.memorytiles.memorytilesgame.broadcast.BroadcastListener;
+import com.memorytiles.memorytilesgame.broadcast.Broadcaster;
+import com.memorytiles.memorytilesgame.broadcast.Frame;
+import com.memorytiles.memorytilesgame.engine.GameEngine;
+import com.memorytiles.memorytilesgame.engine.NoRepeatGenerator;
+import com.memorytiles.memorytilesgame.engine.Sequence;
+import com.memorytiles.memorytilesgame.engine.VirtualScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The FanOutBenchmark class measures how fast a broadcaster delivers one
+ * game to a growing number of local spectators. A headless engine plays
+ * games as fast as it can, and every subscriber rebuilds the board from
+ * the frames it gets. A share of the subscribers is slow and takes a
+ * while before asking for the next frame, like a viewer on a slow link,
+ * so they fall behind and are sent snapshots.
+ * At the end every subscriber's board is checked against the game's.
+ * It is a plain program rather than a JMH benchmark, because it measures
+ * throughput across threads over whole games.
+ * Usage: FanOutBenchmark [games] [slow percent] [subscriber counts...]
+ */
+public class FanOutBenchmark {
+    private static final int ROWS = 5;
+    private static final int COLS = 5;
+    private static final int MAX_LEVEL = 20;
+    private static final long SLOW_FRAME_NANOS = 200_000L;
+
+    public static void main(String[] args) throws InterruptedException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int slowPercent = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        List<Integer> counts = new ArrayList<>();
+        for (int i = 2; i < args.length; i++) {
+            counts.add(Integer.parseInt(args[i]));
+        }
+        if (counts.isEmpty()) {
+            counts = List.of(1, 10, 100, 500, 1000);
+        }
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%d games of up to %d levels on %dx%d, %d%% slow viewers, %d delivery threads%n",
+                games, MAX_LEVEL, ROWS, COLS, slowPercent, threads);
+        System.out.println("viewers  frames  frames/s  deliveries/s  snapshots  coalesced  bytes/delta  mismatches");
+        // warm up
+        run(games, slowPercent, 10, threads, false);
+        for (int count : counts) {
+            run(games, slowPercent, count, threads, true);
+        }
+    }
+
+    private static void run(int games, int slowPercent, int count, int threads, boolean print) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+        Broadcaster broadcaster = new Broadcaster(ROWS, COLS, executor);
+        CountDownLatch completed = new CountDownLatch(count);
+        List<Viewer> viewers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            boolean slow = (i * slowPercent) % 100 + slowPercent >= 100;
+            Viewer viewer = new Viewer(slow, timer, completed);
+            viewers.add(viewer);
+            broadcaster.subscribe(viewer);
+        }
+
+        long start = System.nanoTime();
+        play(broadcaster, games);
+        broadcaster.close();
+        completed.await();
+        long elapsed = System.nanoTime() - start;
+        timer.shutdown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        BoardState source = new BoardState(ROWS, COLS);
+        source.apply(broadcaster.snapshot().getData());
+        long deliveries = 0;
+        long snapshots = 0;
+        int mismatches = 0;
+        for (Viewer viewer : viewers) {
+            deliveries += viewer.frames;
+            snapshots += viewer.snapshots;
+            if (!viewer.state.sameAs(source) || viewer.state.getSeq() != source.getSeq()) {
+                mismatches++;
+            }
+        }
+        if (!print) {
+            return;
+        }
+        long frames = broadcaster.getPublished();
+        double seconds = elapsed / 1e9;
+        System.out.printf("%7d  %6d  %8.0f  %12.0f  %9d  %9d  %11.1f  %10d%n", count, frames, frames / seconds,
+                deliveries / seconds, snapshots, broadcaster.getCoalesced(),
+                broadcaster.getPublishedBytes() / (double) frames, mismatches);
+    }
+
+    /**
+     * Plays the games with a bot that never misses until the level cap,
+     * then clicks a wrong tile until the game is over.
+     */
+    private static void play(Broadcaster broadcaster, int games) {
+        VirtualScheduler scheduler = new VirtualScheduler();
+        BroadcastListener listener = new BroadcastListener(broadcaster);
+        GameEngine engine = new GameEngine(ROWS, COLS, 3, "Bot", scheduler,
+                new NoRepeatGenerator(ROWS * COLS, 1, 42), listener);
+        listener.attach(engine);
+        Sequence sequence = engine.getSequence();
+        for (int game = 0; game < games; game++) {
+            if (game == 0) {
+                engine.start();
+            } else {
+                engine.restart();
+            }
+            while (true) {
+                scheduler.runUntilIdle();
+                if (engine.getState() == GameEngine.State.GAME_OVER) {
+                    break;
+                }
+                int tile = sequence.getExpectedTile();
+                if (engine.getLevel() > MAX_LEVEL) {
+                    tile = (tile + 1) % (ROWS * COLS);
+                }
+                engine.click(tile);
+            }
+        }
+    }
+
+    /**
+     * A spectator that asks for one frame at a time and rebuilds the board.
+     */
+    private static class Viewer implements Flow.Subscriber<Frame> {
+        private final boolean slow;
+        private final ScheduledExecutorService timer;
+        private final CountDownLatch completed;
+        private final BoardState state = new BoardState(ROWS, COLS);
+        private Flow.Subscription subscription;
+        private long frames;
+        private long snapshots;
+
+        Viewer(boolean slow, ScheduledExecutorService timer, CountDownLatch completed) {
+            this.slow = slow;
+            this.timer = timer;
+            this.completed = completed;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(Frame frame) {
+            state.apply(frame.getData());
+            frames++;
+            if (frame.isSnapshot()) {
+                snapshots++;
+            }
+            if (slow) {
+                timer.schedule(() -> subscription.request(1), SLOW_FRAME_NANOS, TimeUnit.NANOSECONDS);
+            } else {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            System.out.println("Viewer failed: " + throwable);
+            completed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.memorytiles.memorytilesgame.bench;
+
+import com.memorytiles.memorytilesgame.engine.NoRepeatGenerator;
+import com.memorytiles.memorytilesgame.engine.Sequence;
+import com.memorytiles.memorytilesgame.engine.SequenceGenerator;
+import com.memorytiles.memorytilesgame.engine.SpreadGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The GeneratorBenchmark class measures picking the next random tile
+ * (what getRandomTile used to do) with each generator, for grids from
+ * 3x3 up to the largest canvas board.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratorBenchmark {
+    private static final int MAX_STEPS = 1024;
+
+    @Param({"3", "7", "64", "256"})
+    public int gridSize;
+
+    @Param({"norepeat", "norepeat8", "spread"})
+    public String kind;
+
+    private SequenceGenerator generator;
+    private Sequence sequence;
+
+    @Setup
+    public void setUp() {
+        int tiles = gridSize * gridSize;
+        generator = switch (kind) {
+            case "norepeat" -> new NoRepeatGenerator(tiles, 1, 42);
+            case "norepeat8" -> new NoRepeatGenerator(tiles, 8, 42);
+            case "spread" -> new SpreadGenerator(gridSize, gridSize, 1, 42);
+            default -> throw new IllegalArgumentException("Unknown generator: " + kind);
+        };
+        sequence = new Sequence();
+    }
+
+    /**
+     * Adds one random step. The sequence is cleared every MAX_STEPS steps
+     * so it does not keep growing during the run.
+     */
+    @Benchmark
+    public int nextStep() {
+        if (sequence.size() == MAX_STEPS) {
+            sequence.reset();
+        }
+        generator.addStep(sequence);
+        return sequence.lastTile();
+    }
+}
@@ -0,0 +1,76 @@
+package com.memorytiles.memorytilesgame.bench;
+
+import com.memorytiles.memorytilesgame.engine.GameListener;
+import com.memorytiles.memorytilesgame.engine.NoRepeatGenerator;
+import com.memorytiles.memorytilesgame.engine.Sequence;
+import com.memorytiles.memorytilesgame.engine.SequencePlayer;
+import com.memorytiles.memorytilesgame.engine.VirtualScheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The PlaybackBenchmark class measures playing a whole sequence through
+ * the SequencePlayer on a virtual clock, so only the cost of scheduling
+ * and the show/hide callbacks is timed, not the real flash delays.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlaybackBenchmark {
+
+    @Param({"3", "7", "64"})
+    public int gridSize;
+
+    @Param({"10", "100", "1000"})
+    public int length;
+
+    private VirtualScheduler scheduler;
+    private SequencePlayer player;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        scheduler = new VirtualScheduler();
+        Sequence sequence = new Sequence();
+        NoRepeatGenerator generator = new NoRepeatGenerator(gridSize * gridSize, 1, 42);
+        for (int i = 0; i < length; i++) {
+            generator.addStep(sequence);
+        }
+        GameListener listener = new GameListener() {
+            @Override
+            public void onStepShown(int tile, int color, int note) {
+                blackhole.consume(tile);
+            }
+
+            @Override
+            public void onStepHidden(int tile) {
+                blackhole.consume(tile);
+            }
+        };
+        player = new SequencePlayer(scheduler, sequence, listener, () -> blackhole.consume(true));
+    }
+
+    /**
+     * Plays the sequence from start to finish.
+     */
+    @Benchmark
+    public boolean playback() {
+        player.play();
+        scheduler.runUntilIdle();
+        return player.isPlaying();
+    }
+}
@@ -0,0 +1,91 @@
+package com.memorytiles.memorytilesgame.bench;
+
+import com.memorytiles.memorytilesgame.engine.NoRepeatGenerator;
+import com.memorytiles.memorytilesgame.engine.Sequence;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The SequenceBenchmark class measures the Sequence operations used on every
+ * level and click: building the sequence one step at a time (what
+ * addToSequence used to do), checking each click (verifyClick) and looking
+ * up the note of each step (getNoteForTile). Results are per step.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SequenceBenchmark {
+    private static final int STEPS = 1000;
+
+    @Param({"3", "7", "64"})
+    public int gridSize;
+
+    @Param({"10", "100", "1000"})
+    public int length;
+
+    private NoRepeatGenerator generator;
+    private Sequence sequence;
+
+    @Setup
+    public void setUp() {
+        generator = new NoRepeatGenerator(gridSize * gridSize, 1, 42);
+        sequence = new Sequence();
+        for (int i = 0; i < length; i++) {
+            generator.addStep(sequence);
+        }
+    }
+
+    /**
+     * Builds a sequence of the given length from scratch, like a game
+     * that reaches that level.
+     */
+    @Benchmark
+    public int addStep() {
+        sequence.reset();
+        generator.reset();
+        for (int i = 0; i < length; i++) {
+            generator.addStep(sequence);
+        }
+        return sequence.size();
+    }
+
+    /**
+     * Checks a whole level of correct clicks.
+     */
+    @Benchmark
+    public boolean verifyClick() {
+        sequence.rewind();
+        boolean correct = true;
+        for (int i = 0; i < length; i++) {
+            correct &= sequence.verify(sequence.getExpectedTile());
+        }
+        return correct;
+    }
+
+    /**
+     * Looks up the note of every step.
+     */
+    @Benchmark
+    @OperationsPerInvocation(STEPS)
+    public void noteAt(Blackhole blackhole) {
+        for (int i = 0; i < STEPS; i++) {
+            blackhole.consume(sequence.noteAt(i % length));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.memorytiles.memorytilesgame;
+
+import javafx.scene.Node;
+
+/**
+ * The BoardRenderer interface draws the tiles of a TileManager and passes
+ * clicks on them to the GameUI. NodeBoardRenderer uses one Rectangle per
+ * tile, and CanvasBoardRenderer draws the whole board on a single Canvas
+ * for large grids.
+ */
+public interface BoardRenderer {
+
+    /**
+     * Returns the node that shows the board.
+     */
+    Node getNode();
+
+    /**
+     * Called by a tile after its color changed, so it can be redrawn.
+     *
+     */
+    void tileChanged(Tile tile);
+
+    /**
+     * Enables mouse click handling for all tiles.
+     */
+    void enableClicks();
+
+    /**
+     * Disables mouse click handling for all tiles.
+     */
+    void disableClicks();
+}
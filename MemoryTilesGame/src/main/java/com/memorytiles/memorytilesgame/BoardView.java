@@ -0,0 +1,151 @@
+package com.memorytiles.memorytilesgame;
+
+import com.memorytiles.memorytilesgame.engine.CompositeListener;
+import com.memorytiles.memorytilesgame.engine.GameEngine;
+import com.memorytiles.memorytilesgame.engine.GameListener;
+import com.memorytiles.memorytilesgame.engine.NoRepeatGenerator;
+import com.memorytiles.memorytilesgame.engine.Scheduler;
+import com.memorytiles.memorytilesgame.metrics.MetricsListener;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+
+/**
+ * The BoardView class is one player's board in the multi-board mode:
+ * a small game engine, its tiles and its score, lives and status labels.
+ * The scheduler and the sound player are passed in, so all boards share
+ * the same ones, and so is the board's own MetricsListener. When the game is over a "Play Again" button restarts
+ * just this board.
+ */
+public class BoardView implements GameListener, TileClickListener {
+    private final VBox root = new VBox(4);
+    private final Label scoreLabel = new Label();
+    private final Label livesLabel = new Label();
+    private final Label statusLabel = new Label();
+    private final HudModel hud = new HudModel();
+    private final HudBinder hudBinder = new HudBinder(hud, scoreLabel, livesLabel, statusLabel);
+    private final HudListener hudListener = new HudListener(hud);
+    private final Button playAgainButton = new Button("Play Again");
+
+    private final TileManager tileManager;
+    private final SequenceHandler sequenceHandler;
+    private final SoundPlayer soundPlayer;
+    private final GameEngine engine;
+
+    public BoardView(String playerName, int rows, int cols, int lives, long seed,
+                     Scheduler scheduler, SoundPlayer soundPlayer, MetricsListener metricsListener) {
+        this.soundPlayer = soundPlayer;
+        tileManager = new TileManager(rows, cols, this, true);
+        sequenceHandler = new SequenceHandler(tileManager, soundPlayer);
+        engine = new GameEngine(rows, cols, lives, playerName, scheduler,
+                new NoRepeatGenerator(rows * cols, 1, seed), new CompositeListener(this, hudListener, metricsListener));
+        hudListener.attach(engine);
+        metricsListener.attach(engine);
+
+        Label playerLabel = new Label(playerName);
+        playerLabel.setStyle("-fx-font-weight: bold;");
+        playAgainButton.setVisible(false);
+        playAgainButton.setOnAction(e -> playAgain());
+
+        Node board = tileManager.getNode();
+        if (board instanceof Region region) {
+            region.setPrefSize(200, 200);
+        }
+        VBox.setVgrow(board, Priority.ALWAYS);
+
+        HBox labels = new HBox(10, scoreLabel, livesLabel);
+        labels.setAlignment(Pos.CENTER);
+        root.setAlignment(Pos.CENTER);
+        root.setStyle("-fx-padding: 6px; -fx-border-color: #cccccc;");
+        root.getChildren().addAll(playerLabel, labels, statusLabel, board, playAgainButton);
+        hud.setLives(lives);
+    }
+
+    /**
+     * Returns the node that shows this board and its labels.
+     */
+    public Node getNode() {
+        return root;
+    }
+
+    /**
+     * Starts updating the labels in the given scene and starts the game.
+     */
+    public void start(Scene scene) {
+        hudBinder.attach(scene);
+        engine.start();
+    }
+
+    public GameEngine getEngine() {
+        return engine;
+    }
+
+    @Override
+    public void onTileClicked(Tile tile) {
+        engine.click(tile.getId());
+    }
+
+    @Override
+    public void onLevelStarted(int level) {
+        tileManager.resetTiles();
+        tileManager.disableClicks();
+    }
+
+    @Override
+    public void onStepShown(int tile, int color, int note) {
+        sequenceHandler.showStep(tile, color, note);
+    }
+
+    @Override
+    public void onStepHidden(int tile) {
+        sequenceHandler.hideStep(tile);
+    }
+
+    @Override
+    public void onSequenceFinished() {
+        tileManager.enableClicks();
+    }
+
+    @Override
+    public void onCorrectClick(int tile, int color, int note) {
+        sequenceHandler.showStep(tile, color, note);
+    }
+
+    @Override
+    public void onClickFlashEnded(int tile) {
+        sequenceHandler.hideStep(tile);
+    }
+
+    @Override
+    public void onLevelComplete() {
+        tileManager.disableClicks();
+    }
+
+    @Override
+    public void onWrongTile(int tile, int livesLeft) {
+        soundPlayer.playWrong();
+        tileManager.getTile(tile).showError();
+        tileManager.disableClicks();
+    }
+
+    @Override
+    public void onRetry() {
+        tileManager.enableClicks();
+    }
+
+    @Override
+    public void onGameOver(int score) {
+        playAgainButton.setVisible(true);
+    }
+
+    private void playAgain() {
+        playAgainButton.setVisible(false);
+        engine.restart();
+    }
+}
@@ -0,0 +1,162 @@
+package com.memorytiles.memorytilesgame;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseButton;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The CanvasBoardRenderer class draws the whole board on a single Canvas,
+ * so boards far bigger than 7x7 do not need a scene-graph node per tile.
+ * The tile size follows the size of the window. Changed tiles are marked
+ * dirty and only those are redrawn, once per frame. Clicks are mapped from
+ * mouse coordinates to a tile directly.
+ */
+public class CanvasBoardRenderer implements BoardRenderer {
+    private final Pane pane = new Pane();
+    private final Canvas canvas = new Canvas();
+    private final GraphicsContext gc = canvas.getGraphicsContext2D();
+    private final TileClickListener clickListener;
+    private final int rows;
+    private final int cols;
+    private final BitSet dirty = new BitSet();
+    private List<Tile> tiles;
+
+    private double tileSize;
+    private double offsetX;
+    private double offsetY;
+    private boolean clicksEnabled;
+    private boolean repaintPending;
+
+    private final AnimationTimer painter = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            paintDirty();
+            stop();
+            repaintPending = false;
+        }
+    };
+
+    public CanvasBoardRenderer(int rows, int cols, TileClickListener clickListener) {
+        this.rows = rows;
+        this.cols = cols;
+        this.clickListener = clickListener;
+
+        pane.getChildren().add(canvas);
+        pane.setMinSize(0, 0);
+        pane.setPrefSize(600, 600);
+        pane.widthProperty().addListener(o -> layoutBoard());
+        pane.heightProperty().addListener(o -> layoutBoard());
+
+        canvas.setOnMouseClicked(event -> {
+            if (clicksEnabled && event.getButton() == MouseButton.PRIMARY) {
+                int id = tileAt(event.getX(), event.getY());
+                if (id >= 0) {
+                    clickListener.onTileClicked(tiles.get(id));
+                }
+            }
+        });
+    }
+
+    /**
+     * Sets the tiles to draw. They are painted once the pane has a size.
+     *
+     */
+    public void setTiles(List<Tile> tiles) {
+        this.tiles = tiles;
+    }
+
+    @Override
+    public Node getNode() {
+        return pane;
+    }
+
+    @Override
+    public void tileChanged(Tile tile) {
+        dirty.set(tile.getId());
+        if (!repaintPending) {
+            repaintPending = true;
+            painter.start();
+        }
+    }
+
+    @Override
+    public void enableClicks() {
+        clicksEnabled = true;
+    }
+
+    @Override
+    public void disableClicks() {
+        clicksEnabled = false;
+    }
+
+    /**
+     * Returns the id of the tile at the given canvas coordinates,
+     * or -1 if they are outside the board.
+     */
+    public int tileAt(double x, double y) {
+        if (tileSize <= 0) {
+            return -1;
+        }
+        int col = (int) Math.floor((x - offsetX) / tileSize);
+        int row = (int) Math.floor((y - offsetY) / tileSize);
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            return -1;
+        }
+        return row * cols + col;
+    }
+
+    /**
+     * Fits the canvas to the pane, works out the new tile size and
+     * repaints the whole board.
+     */
+    private void layoutBoard() {
+        double width = pane.getWidth();
+        double height = pane.getHeight();
+        canvas.setWidth(width);
+        canvas.setHeight(height);
+        tileSize = Math.max(1, Math.floor(Math.min(width / cols, height / rows)));
+        offsetX = Math.floor((width - tileSize * cols) / 2);
+        offsetY = Math.floor((height - tileSize * rows) / 2);
+        paintAll();
+    }
+
+    private void paintAll() {
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        if (tiles == null) {
+            return;
+        }
+        for (int id = 0; id < tiles.size(); id++) {
+            paintTile(id);
+        }
+        dirty.clear();
+    }
+
+    private void paintDirty() {
+        if (tiles == null) {
+            return;
+        }
+        for (int id = dirty.nextSetBit(0); id >= 0; id = dirty.nextSetBit(id + 1)) {
+            paintTile(id);
+        }
+        dirty.clear();
+    }
+
+    private void paintTile(int id) {
+        Tile tile = tiles.get(id);
+        double x = offsetX + tile.getCol() * tileSize;
+        double y = offsetY + tile.getRow() * tileSize;
+        gc.setFill(tile.getColor());
+        gc.fillRect(x, y, tileSize, tileSize);
+        if (tileSize >= 4) {
+            gc.setStroke(Color.BLACK);
+            gc.strokeRect(x + 0.5, y + 0.5, tileSize - 1, tileSize - 1);
+        }
+    }
+}
@@ -1,7 +1,16 @@
 package com.memorytiles.memorytilesgame;
 
+import com.memorytiles.memorytilesgame.audio.AudioAssets;
+import com.memorytiles.memorytilesgame.metrics.StartupTimer;
+import com.memorytiles.memorytilesgame.replay.JournalReader;
+import com.memorytiles.memorytilesgame.replay.RecordedGame;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
 /*
  * IMPORTANT EXECUTION INFORMATION (PLEASE READ BEFORE RUNNING):
  * This code only works with Java version 18 because
@@ -15,18 +24,87 @@ import javafx.stage.Stage;
  * It extends javafx.application.Application and initializes the game's UI.
  */
 public class FinalProject extends Application {
+    private GameUI gameUI;
+    private boolean firstFrameShown;
 
     /**
      * Starts the JavaFX application by initializing the game UI and asking the user
-     * to choose a grid size.
+     * to choose a grid size. The sounds start loading in the background while
+     * the user fills in the setup screen.
+     * Started with "--replay journal-file", it replays the first game in the journal instead.
+     * With "--metrics file", the game's metrics are written to that file on exit.
+     * With "--level-delay ms", the pause between levels is changed from one second.
+     * With "--boards n", it shows n boards of 3x3 side by side in one window.
+     * With "--startup-only", it prints the startup times and exits as soon as the
+     * setup screen has been drawn, which is used to time startup and to train the
+     * class data sharing archive.
      */
     @Override
-    public void start(Stage stage) {
-        GameUI gameUI = new GameUI();
+    public void start(Stage stage) throws IOException {
+        StartupTimer.mark("fx start");
+        AudioAssets.preload();
+        gameUI = new GameUI();
+
+        List<String> args = getParameters().getRaw();
+        int metrics = args.indexOf("--metrics");
+        if (metrics >= 0 && metrics + 1 < args.size()) {
+            gameUI.setMetricsFile(Path.of(args.get(metrics + 1)));
+        }
+        int levelDelay = args.indexOf("--level-delay");
+        if (levelDelay >= 0 && levelDelay + 1 < args.size()) {
+            try {
+                gameUI.setLevelDelayMillis(Math.max(0, Long.parseLong(args.get(levelDelay + 1))));
+            } catch (NumberFormatException e) {
+                System.out.println("The level delay must be a number of milliseconds.");
+            }
+        }
+        int replay = args.indexOf("--replay");
+        if (replay >= 0 && replay + 1 < args.size()) {
+            List<RecordedGame> games = JournalReader.read(Path.of(args.get(replay + 1)));
+            if (!games.isEmpty()) {
+                gameUI.startReplay(stage, games.get(0));
+                return;
+            }
+            System.out.println("The journal has no games to replay.");
+        }
+        int boards = args.indexOf("--boards");
+        if (boards >= 0 && boards + 1 < args.size()) {
+            try {
+                new MultiBoardUI().start(stage, Integer.parseInt(args.get(boards + 1)), 3, 3, 3);
+                return;
+            } catch (NumberFormatException e) {
+                System.out.println("The number of boards must be a number.");
+            }
+        }
         gameUI.askGridSize(stage);
+        StartupTimer.mark("setup scene");
+
+        boolean startupOnly = args.contains("--startup-only");
+        stage.getScene().addPostLayoutPulseListener(() -> {
+            if (!firstFrameShown) {
+                firstFrameShown = true;
+                StartupTimer.mark("first frame");
+                if (startupOnly) {
+                    System.out.println(StartupTimer.getReport());
+                    Platform.exit();
+                }
+            }
+        });
+    }
+
+    /**
+     * Called when the application exits. Closes the replay journal
+     * and writes the metrics file.
+     */
+    @Override
+    public void stop() {
+        if (gameUI != null) {
+            gameUI.shutdown();
+        }
     }
 
     public static void main(String[] args) {
+        StartupTimer.mark("main");
         launch(args);
     }
 }
@@ -0,0 +1,75 @@
+package com.memorytiles.memorytilesgame;
+
+import com.memorytiles.memorytilesgame.engine.Scheduler;
+import com.memorytiles.memorytilesgame.engine.Timer;
+import javafx.animation.Animation;
+import javafx.animation.PauseTransition;
+import javafx.util.Duration;
+
+/**
+ * The FxScheduler class runs the game engine's timers on the JavaFX
+ * application thread using real time. Each timer keeps one PauseTransition
+ * that is reused every time the timer is scheduled.
+ * It also counts how many of its transitions are running.
+ */
+public class FxScheduler implements Scheduler {
+    private volatile int running;
+
+    @Override
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public Timer newTimer(Runnable action) {
+        return new FxTimer(action);
+    }
+
+    /**
+     * Returns how many of this scheduler's timers are waiting to fire.
+     */
+    public int getRunningTimers() {
+        return running;
+    }
+
+    /**
+     * A timer backed by a single reusable PauseTransition.
+     */
+    private class FxTimer implements Timer {
+        private final PauseTransition pause = new PauseTransition();
+        private long delayNanos = -1;
+
+        FxTimer(Runnable action) {
+            pause.setOnFinished(e -> {
+                running--;
+                action.run();
+            });
+        }
+
+        @Override
+        public void schedule(long delayNanos) {
+            if (!isPending()) {
+                running++;
+            }
+            pause.stop();
+            if (delayNanos != this.delayNanos) {
+                this.delayNanos = delayNanos;
+                pause.setDuration(Duration.millis(delayNanos / 1_000_000.0));
+            }
+            pause.playFromStart();
+        }
+
+        @Override
+        public void cancel() {
+            if (isPending()) {
+                running--;
+            }
+            pause.stop();
+        }
+
+        @Override
+        public boolean isPending() {
+            return pause.getStatus() == Animation.Status.RUNNING;
+        }
+    }
+}
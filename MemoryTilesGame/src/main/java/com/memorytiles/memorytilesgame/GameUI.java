@@ -1,39 +1,145 @@
 package com.memorytiles.memorytilesgame;
 
+import com.memorytiles.memorytilesgame.audio.AudioAssets;
+import com.memorytiles.memorytilesgame.audio.AudioMixer;
+import com.memorytiles.memorytilesgame.broadcast.BroadcastListener;
+import com.memorytiles.memorytilesgame.broadcast.Broadcaster;
+import com.memorytiles.memorytilesgame.engine.CompositeListener;
+import com.memorytiles.memorytilesgame.engine.GameEngine;
+import com.memorytiles.memorytilesgame.engine.GameListener;
+import com.memorytiles.memorytilesgame.engine.NoRepeatGenerator;
+import com.memorytiles.memorytilesgame.engine.ScoreHelper;
+import com.memorytiles.memorytilesgame.metrics.MetricsListener;
+import com.memorytiles.memorytilesgame.metrics.MetricsRegistry;
+import com.memorytiles.memorytilesgame.replay.JournalWriter;
+import com.memorytiles.memorytilesgame.replay.RecordedGame;
+import com.memorytiles.memorytilesgame.replay.ReplayGenerator;
+import com.memorytiles.memorytilesgame.replay.Replayer;
+import com.memorytiles.memorytilesgame.scores.ScoreRecord;
+import com.memorytiles.memorytilesgame.scores.ScoreStore;
+import com.memorytiles.memorytilesgame.stats.Histogram;
+import com.memorytiles.memorytilesgame.stats.ReactionTimes;
+import com.memorytiles.memorytilesgame.stats.ReactionTracker;
 import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.scene.layout.GridPane;
+import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 
-import java.util.Optional;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * The GameUI class manages the UI for the Memory Tiles game.
- * It creates the setup screen, game board layout, user clicks, and game logic.
+ * It creates the setup screen and game board layout, and passes user clicks
+ * to the GameEngine, which holds the game logic. The engine calls back into
+ * this class to update the tiles, labels and sounds.
  * This class has objects of other classes like TileManager, SequenceHandler,
- * ScoreHelper, and SoundPlayer to make the game work.
+ * and SoundPlayer to make the game work.
  */
-public class GameUI {
+public class GameUI implements GameListener, TileClickListener {
+    private static final int QUIT_DELAY_MILLIS = 500;
+
     private int rows = 3;
     private int columns = 3;
     private int lives = 3;
-    private int initialLives = 3;
 
     private final VBox root = new VBox(10);
-    private final GridPane grid = new GridPane();
-    private final Label statusLabel = new Label("Welcome to Memory Tiles Game!");
-    private final Label scoreLabel = new Label("Score: 0");
-    private final Label livesLabel = new Label();  // Updated
-
+    private final Label statusLabel = new Label();
+    private final Label scoreLabel = new Label();
+    private final Label livesLabel = new Label();
+    private final HudModel hud = new HudModel();
+    private final HudBinder hudBinder = new HudBinder(hud, scoreLabel, livesLabel, statusLabel);
+    private final HudListener hudListener = new HudListener(hud);
+
+    private GameEngine engine;
     private TileManager tileManager;
     private SequenceHandler sequenceHandler;
-    private ScoreHelper scoreHelper;
     private SoundPlayer soundPlayer;
+    private JournalWriter journal;
+    private CompletableFuture<ScoreStore> scoreStore;
+    private CompletableFuture<String> scoreSave;
+    private boolean replaying;
+
+    private final MetricsRegistry metrics = MetricsRegistry.getDefault();
+    private final PulseMonitor pulseMonitor = new PulseMonitor(metrics.timing("fx.pulse.layout"));
+    private final ReactionTracker reactions = new ReactionTracker();
+    private final InputLayer input = new InputLayer(this);
+    private FxScheduler scheduler;
+    private Broadcaster broadcaster;
+    private Path metricsFile;
+    private long levelDelayNanos = GameEngine.NEXT_LEVEL_DELAY_NANOS;
+
+    /**
+     * Creates the UI and registers its gauges for running transitions,
+     * sound requests, reaction times, input latency and spectators in the
+     * metrics registry.
+     */
+    public GameUI() {
+        metrics.gauge("fx.timers.running", () -> scheduler == null ? 0 : scheduler.getRunningTimers());
+        metrics.gauge("audio.play.calls", () -> {
+            AudioMixer mixer = AudioAssets.getMixerIfReady();
+            return mixer == null ? 0 : mixer.getPlayRequests();
+        });
+        metrics.gauge("audio.play.dropped", () -> {
+            AudioMixer mixer = AudioAssets.getMixerIfReady();
+            return mixer == null ? 0 : mixer.getDroppedRequests();
+        });
+        metrics.gauge("reaction.first_click.p50_us", () -> reactionPercentile(true, 50));
+        metrics.gauge("reaction.first_click.p90_us", () -> reactionPercentile(true, 90));
+        metrics.gauge("reaction.between_clicks.p50_us", () -> reactionPercentile(false, 50));
+        metrics.gauge("reaction.between_clicks.p90_us", () -> reactionPercentile(false, 90));
+        metrics.gauge("input.events.mouse", input::getMouseEvents);
+        metrics.gauge("input.events.key", input::getKeyEvents);
+        metrics.gauge("input.feedback.p50_us", () -> input.getFeedback().getPercentileNanos(50) / 1000);
+        metrics.gauge("input.feedback.p99_us", () -> input.getFeedback().getPercentileNanos(99) / 1000);
+        metrics.gauge("broadcast.viewers", () -> broadcaster == null ? 0 : broadcaster.getSubscriberCount());
+        metrics.gauge("broadcast.frames", () -> broadcaster == null ? 0 : broadcaster.getPublished());
+        metrics.gauge("broadcast.coalesced", () -> broadcaster == null ? 0 : broadcaster.getCoalesced());
+        metrics.publishToFlightRecorder();
+    }
+
+    /**
+     * Returns the current player's reaction time percentile in microseconds.
+     */
+    private long reactionPercentile(boolean firstClick, double percentile) {
+        ReactionTimes times = reactions.getCurrent();
+        if (times == null) {
+            return 0;
+        }
+        Histogram histogram = firstClick ? times.getFirstClick() : times.getBetweenClicks();
+        return histogram.getPercentileNanos(percentile) / 1000;
+    }
+
+    /**
+     * Sets the pause between completing a level and the start of the next.
+     */
+    public void setLevelDelayMillis(long millis) {
+        levelDelayNanos = millis * 1_000_000L;
+    }
+
+    /**
+     * Returns the broadcast of the current game, for spectators to
+     * subscribe to, or null before a game has started.
+     */
+    public Broadcaster getBroadcaster() {
+        return broadcaster;
+    }
+
+    /**
+     * Sets a file the metrics are written to when the game shuts down.
+     */
+    public void setMetricsFile(Path metricsFile) {
+        this.metricsFile = metricsFile;
+    }
 
     /**
      * Asks the user to input their name and grid size, then starts the game.
@@ -73,8 +179,8 @@ public class GameUI {
                     messageLabel.setText("Minimum size is 2x2.");
                     return;
                 }
-                if (rows > 7 || columns > 7) {
-                    messageLabel.setText("Maximum size is 7x7.");
+                if (rows > TileManager.MAX_GRID || columns > TileManager.MAX_GRID) {
+                    messageLabel.setText("Maximum size is " + TileManager.MAX_GRID + "x" + TileManager.MAX_GRID + ".");
                     return;
                 }
             } catch (NumberFormatException ex) {
@@ -94,7 +200,6 @@ public class GameUI {
                 messageLabel.setText("Invalid input. Using default of 3 lives.");
             }
 
-            initialLives = lives;
             String name = nameInput.getText().trim();
             if (name.isEmpty()) name = "Player";
 
@@ -105,21 +210,174 @@ public class GameUI {
     /**
      * Initializes the main game UI with the given player name,
      * sets up the tile grid, UI components, and starts the first level.
-     *
+     * The session is recorded to a replay journal if one can be created,
+     * and broadcast to anyone who subscribes to getBroadcaster().
      */
     private void startGame(Stage stage, String playerName) {
+        scheduler = new FxScheduler();
+        journal = openJournal(scheduler);
+        MetricsListener metricsListener = new MetricsListener(metrics);
+        broadcaster = new Broadcaster(rows, columns, ForkJoinPool.commonPool());
+        BroadcastListener broadcastListener = new BroadcastListener(broadcaster);
+        GameListener listener = journal == null
+                ? new CompositeListener(this, hudListener, metricsListener, reactions, broadcastListener)
+                : new CompositeListener(this, hudListener, journal, metricsListener, reactions, broadcastListener);
+        engine = new GameEngine(rows, columns, lives, playerName, scheduler,
+                new NoRepeatGenerator(rows * columns, 1, System.nanoTime()), listener);
+        engine.setNextLevelDelay(levelDelayNanos);
+        if (journal != null) {
+            journal.attach(engine);
+        }
+        hudListener.attach(engine);
+        metricsListener.attach(engine);
+        broadcastListener.attach(engine);
+        reactions.attach(engine, scheduler);
+
+        if (scoreStore == null) {
+            scoreStore = CompletableFuture.supplyAsync(this::openScoreStore);
+        }
+
+        showBoard(stage, playerName);
+        engine.start();
+    }
+
+    /**
+     * Replays a recorded game at normal speed, with the pause between
+     * levels it was recorded with. The player's clicks are ignored while
+     * the recorded clicks are played.
+     */
+    public void startReplay(Stage stage, RecordedGame game) {
+        rows = game.getRows();
+        columns = game.getCols();
+        lives = game.getLives();
+        replaying = true;
+
+        scheduler = new FxScheduler();
+        MetricsListener metricsListener = new MetricsListener(metrics);
+        Replayer replayer = new Replayer(scheduler, game);
+        engine = new GameEngine(rows, columns, lives, "Replay", scheduler, new ReplayGenerator(game),
+                new CompositeListener(this, hudListener, metricsListener, replayer));
+        engine.setNextLevelDelay(game.getNextLevelDelay());
+        hudListener.attach(engine);
+        metricsListener.attach(engine);
+        replayer.attach(engine);
+        showBoard(stage, "Replay");
+        replayer.start();
+    }
+
+    /**
+     * Closes the replay journal, the leaderboard and the broadcast, if they
+     * are open, and writes the metrics file if one was set. A score still
+     * being saved is waited for first. Called when the application stops.
+     */
+    public void shutdown() {
+        if (broadcaster != null) {
+            broadcaster.close();
+        }
+        if (metricsFile != null) {
+            try {
+                metrics.export(metricsFile);
+            } catch (IOException e) {
+                System.out.println("Metrics could not be written.");
+            }
+        }
+        if (scoreSave != null) {
+            scoreSave.join();
+        }
+        ScoreStore store = getScoreStore();
+        if (store != null) {
+            try {
+                store.close();
+            } catch (IOException e) {
+                System.out.println("Leaderboard could not be closed.");
+            }
+        }
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                System.out.println("Replay journal could not be closed.");
+            }
+            journal = null;
+        }
+    }
+
+    /**
+     * Opens a new journal file in the user's home directory,
+     * or returns null if that fails.
+     */
+    private JournalWriter openJournal(FxScheduler scheduler) {
+        Path file = Path.of(System.getProperty("user.home"), ".memorytiles", "journal",
+                "session-" + System.currentTimeMillis() + ".mtj");
+        try {
+            return new JournalWriter(file, scheduler);
+        } catch (IOException e) {
+            System.out.println("Replay journal could not be created, the game will not be recorded.");
+            return null;
+        }
+    }
+
+    /**
+     * Opens the leaderboard in the user's home directory, or returns null if that fails.
+     */
+    private ScoreStore openScoreStore() {
+        try {
+            return ScoreStore.open(Path.of(System.getProperty("user.home"), ".memorytiles", "scores.log"));
+        } catch (IOException e) {
+            System.out.println("Leaderboard could not be opened, scores will not be saved.");
+            return null;
+        }
+    }
+
+    /**
+     * Returns the leaderboard if it has finished opening, or null otherwise.
+     */
+    private ScoreStore getScoreStore() {
+        if (scoreStore != null && scoreStore.isDone()) {
+            return scoreStore.join();
+        }
+        return null;
+    }
+
+    /**
+     * Saves a finished game to the leaderboard and returns the best scores
+     * on this grid size as text, or an empty string if there is no
+     * leaderboard. Runs on the pool that opened the leaderboard, not on
+     * the FX thread, as it writes to the disk.
+     */
+    private String saveScore(ScoreStore store, ScoreRecord record) {
+        if (store == null) {
+            return "";
+        }
+        try {
+            store.add(record);
+        } catch (IOException e) {
+            System.out.println("Score could not be saved.");
+        }
+
+        StringBuilder text = new StringBuilder("\n\nBest scores on " + record.getRows() + "x" + record.getCols() + ":");
+        List<ScoreRecord> top = store.topForGrid(record.getRows(), record.getCols(), 5);
+        for (int i = 0; i < top.size(); i++) {
+            text.append("\n").append(i + 1).append(". ")
+                    .append(top.get(i).getPlayer()).append(" - ").append(top.get(i).getScore());
+        }
+        return text.toString();
+    }
+
+    /**
+     * Sets up the tile grid and UI components for the current engine.
+     */
+    private void showBoard(Stage stage, String playerName) {
         root.getChildren().clear();
-        grid.getChildren().clear();
 
         root.setAlignment(Pos.CENTER);
-        grid.setAlignment(Pos.CENTER);
 
-        scoreHelper = new ScoreHelper(playerName);
         soundPlayer = new SoundPlayer();
-        tileManager = new TileManager(rows, columns, this, grid);
-        sequenceHandler = new SequenceHandler(tileManager, this, soundPlayer);
+        tileManager = new TileManager(rows, columns, input);
+        sequenceHandler = new SequenceHandler(tileManager, soundPlayer);
 
-        livesLabel.setText("Lives: " + lives);  // Set correct lives label
+        hud.setScore(0);
+        hud.setLives(lives);
 
         Label playerLabel = new Label("Player: " + playerName);
         playerLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold;");
@@ -127,127 +385,177 @@ public class GameUI {
         livesLabel.setStyle("-fx-font-size: 14px;");
         statusLabel.setStyle("-fx-font-size: 14px; -fx-padding: 10px;");
 
-        root.getChildren().addAll(playerLabel, scoreLabel, livesLabel, statusLabel, grid);
+        Node board = tileManager.getNode();
+        VBox.setVgrow(board, Priority.ALWAYS);
+        root.getChildren().addAll(playerLabel, scoreLabel, livesLabel, statusLabel, board);
 
         Button quitButton = new Button("Quit");
         quitButton.setOnAction(e -> Platform.exit());
         root.getChildren().add(quitButton);
 
-        Scene gameScene = new Scene(root, columns * 100 + 100, rows * 100 + 200);
+        Scene gameScene;
+        if (tileManager.isCanvas()) {
+            gameScene = new Scene(root, 800, 900);
+        } else {
+            gameScene = new Scene(root, columns * NodeBoardRenderer.SIZE + 100, rows * NodeBoardRenderer.SIZE + 200);
+        }
+        pulseMonitor.attach(gameScene);
+        input.attach(gameScene, tileManager);
+        hudBinder.attach(gameScene);
         stage.setScene(gameScene);
         stage.setTitle("Memory Tiles Game");
         stage.show();
-
-        startLevel();
     }
 
     /**
-     * Starts a new level by resetting all the tiles, generating a new sequence,
-     * and resetting the display.
+     * Called when a new level starts. Resets all the tiles and turns off
+     * clicks while the engine plays the new sequence. The labels are
+     * updated by the HudListener.
      */
-    public void startLevel() {
+    @Override
+    public void onLevelStarted(int level) {
         tileManager.resetTiles();
-        sequenceHandler.addToSequence();
-        statusLabel.setText("Watch the sequence!");
         tileManager.disableClicks();
-        sequenceHandler.playSequence();
+    }
+
+    @Override
+    public void onStepShown(int tile, int color, int note) {
+        sequenceHandler.showStep(tile, color, note);
+    }
+
+    @Override
+    public void onStepHidden(int tile) {
+        sequenceHandler.hideStep(tile);
     }
 
     /**
      * Method called after the sequence finishes playing,
-     * asking the user to repeat the sequence.
+     * letting the user repeat the sequence.
      */
+    @Override
     public void onSequenceFinished() {
-        statusLabel.setText("Repeat the sequence!");
         tileManager.enableClicks();
     }
 
     /**
-     * Handles the logic when a tile is clicked by the user.
-     * Checks if the clicked tile is correct and updates the game score accordingly.
-     *
+     * Handles a tile clicked or picked with a key by the user, passed on
+     * by the input layer in the next pulse, by passing it to the game engine.
      */
+    @Override
     public void onTileClicked(Tile tile) {
-        boolean correct = sequenceHandler.verifyClick(tile);
-        if (correct) {
-            String note = sequenceHandler.getNoteForTile(tile);
-            if (note != null) {
-                soundPlayer.playNote(note);
-            }
+        onTileClicked(tile, System.nanoTime());
+    }
 
-            scoreHelper.increment();
-            scoreLabel.setText("Score: " + scoreHelper.getScore());
+    /**
+     * Passes the time the input layer stamped the click with to the engine,
+     * so reaction times do not include the wait for the pulse.
+     */
+    @Override
+    public void onTileClicked(Tile tile, long stampNanos) {
+        if (replaying) {
+            return;
+        }
+        engine.click(tile.getId(), stampNanos);
+    }
 
-            if (sequenceHandler.isSequenceComplete()) {
-                tileManager.disableClicks();
-                statusLabel.setText("Correct! Moving to next level...");
+    /**
+     * Flashes the correct tile and plays its sound.
+     */
+    @Override
+    public void onCorrectClick(int tile, int color, int note) {
+        sequenceHandler.showStep(tile, color, note);
+    }
 
-                PauseTransition pause = new PauseTransition(Duration.seconds(1));
-                pause.setOnFinished(e -> startLevel());
-                pause.play();
-            }
-        } else {
-            soundPlayer.playWrong();
-            tile.showError();
-            tileManager.disableClicks();
-            statusLabel.setText("Wrong tile!");
+    @Override
+    public void onClickFlashEnded(int tile) {
+        sequenceHandler.hideStep(tile);
+    }
 
-            if (lives > 0) {
-                lives--;
-            }
+    @Override
+    public void onLevelComplete() {
+        tileManager.disableClicks();
+    }
 
-            livesLabel.setText("Lives: " + lives);
-            if (lives <= 0) {
-                statusLabel.setText("Game Over");
-                PauseTransition pause = new PauseTransition(Duration.seconds(1.5));
-                pause.setOnFinished(e -> Platform.runLater(this::showGameOverDialog));
-                pause.play();
-            } else {
-                statusLabel.setText("Wrong tile! Try again.");
+    /**
+     * Shows the wrong tile in red and plays the wrong sound.
+     */
+    @Override
+    public void onWrongTile(int tile, int livesLeft) {
+        soundPlayer.playWrong();
+        tileManager.getTile(tile).showError();
+        tileManager.disableClicks();
+    }
 
-                PauseTransition pause = new PauseTransition(Duration.seconds(1.5));
-                pause.setOnFinished(e -> tileManager.enableClicks());
-                pause.play();
-            }
+    @Override
+    public void onRetry() {
+        tileManager.enableClicks();
+    }
+
+    @Override
+    public void onGameOver(int score) {
+        if (replaying) {
+            hud.setStatus(HudModel.Status.REPLAY_FINISHED);
+            return;
         }
+        showGameOverDialog();
     }
 
     /**
      * Displays the Game Over dialog when the player clicks an incorrect tile.
-     * Asks the user to play again or quit the game. Handles the action selected.
+     * Asks the user to play again or quit the game. The dialog does not block,
+     * its answer is handled once it closes. The score is saved in the
+     * background and the best scores are added to the dialog when it is.
      */
     private void showGameOverDialog() {
+        ScoreHelper scoreHelper = engine.getScoreHelper();
         Alert alert = new Alert(Alert.AlertType.ERROR);
         alert.setTitle("Game Over");
         alert.setHeaderText("Incorrect Tile");
-        alert.setContentText(scoreHelper.getPlayerName() + ", your score: " + scoreHelper.getScore());
+        String summary = scoreHelper.getPlayerName() + ", your score: " + scoreHelper.getScore()
+                + "\n\n" + reactions.getCurrent().getReport()
+                + "\n" + input.getReport();
+        alert.setContentText(summary);
+        if (scoreStore != null) {
+            ScoreRecord record = new ScoreRecord(scoreHelper.getPlayerName(), rows, columns, lives,
+                    scoreHelper.getScore(), System.currentTimeMillis());
+            scoreSave = scoreStore.thenApplyAsync(store -> saveScore(store, record));
+            scoreSave.thenAcceptAsync(top -> alert.setContentText(summary + top), Platform::runLater);
+        }
 
         ButtonType playAgain = new ButtonType("Play Again");
         ButtonType quit = new ButtonType("Quit");
 
         alert.getButtonTypes().setAll(playAgain, quit);
-        Optional<ButtonType> result = alert.showAndWait();
-
-        if (result.isPresent() && result.get() == playAgain) {
-            soundPlayer.playLetsGo();
-            try {
-                Thread.sleep(750);
-            } catch (Exception e) {
+        alert.setOnHidden(e -> {
+            if (alert.getResult() == playAgain) {
+                playAgain();
+            } else {
+                quit();
             }
+        });
+        alert.show();
+    }
 
-            scoreHelper.reset();
-            scoreLabel.setText("Score: 0");
-            sequenceHandler.reset();
-            lives = initialLives;
-            livesLabel.setText("Lives: " + lives);
-            startLevel();
-        } else {
-            soundPlayer.playGoodbye();
-            try {
-                Thread.sleep(500);
-            } catch (Exception e) {
-            }
-            Platform.exit();
-        }
+    /**
+     * Starts a new game on the same board. The "let's go" sound plays while
+     * the first level starts, and the time until the board is shown again
+     * is recorded in the metrics.
+     */
+    private void playAgain() {
+        soundPlayer.playLetsGo();
+        engine.restart();
+        pulseMonitor.timeUntilNextPulse(metrics.timing("game.restart"));
+    }
+
+    /**
+     * Stops the game and exits once the goodbye sound has played.
+     */
+    private void quit() {
+        engine.stop();
+        tileManager.disableClicks();
+        soundPlayer.playGoodbye();
+        PauseTransition exit = new PauseTransition(Duration.millis(QUIT_DELAY_MILLIS));
+        exit.setOnFinished(e -> Platform.exit());
+        exit.play();
     }
 }
@@ -0,0 +1,61 @@
+package com.memorytiles.memorytilesgame;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+
+/**
+ * The HudBinder class copies a HudModel into the score, lives and status
+ * labels. It runs once per pulse, just before layout, and only when the
+ * model changed, so several changes in one click handler end up as one
+ * update. A label's text is only rebuilt and set if the value it shows is
+ * different from what is on screen, so unchanged labels cause no new
+ * strings and no extra CSS or layout work.
+ */
+public class HudBinder {
+    private final HudModel model;
+    private final Label scoreLabel;
+    private final Label livesLabel;
+    private final Label statusLabel;
+
+    private int shownScore = -1;
+    private int shownLives = -1;
+    private HudModel.Status shownStatus;
+
+    public HudBinder(HudModel model, Label scoreLabel, Label livesLabel, Label statusLabel) {
+        this.model = model;
+        this.scoreLabel = scoreLabel;
+        this.livesLabel = livesLabel;
+        this.statusLabel = statusLabel;
+        model.setChangeListener(Platform::requestNextPulse);
+    }
+
+    /**
+     * Shows the model in the labels now, and from then on before each
+     * pulse of the given scene in which the model changed.
+     */
+    public void attach(Scene scene) {
+        apply();
+        scene.addPreLayoutPulseListener(() -> {
+            if (model.isChanged()) {
+                apply();
+            }
+        });
+    }
+
+    private void apply() {
+        model.clearChanged();
+        if (model.getScore() != shownScore) {
+            shownScore = model.getScore();
+            scoreLabel.setText("Score: " + shownScore);
+        }
+        if (model.getLives() != shownLives) {
+            shownLives = model.getLives();
+            livesLabel.setText("Lives: " + shownLives);
+        }
+        if (model.getStatus() != shownStatus) {
+            shownStatus = model.getStatus();
+            statusLabel.setText(shownStatus.getText());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.memorytiles.memorytilesgame;
+
+import com.memorytiles.memorytilesgame.engine.GameEngine;
+import com.memorytiles.memorytilesgame.engine.GameListener;
+
+/**
+ * The HudListener class follows the engine and keeps a HudModel up to
+ * date with the score, the lives left and the status message. GameUI and
+ * each BoardView use one, so the labels show the same thing in every mode.
+ * It only sets ints and enum values, so following a game never allocates.
+ */
+public class HudListener implements GameListener {
+    private final HudModel hud;
+    private GameEngine engine;
+
+    public HudListener(HudModel hud) {
+        this.hud = hud;
+    }
+
+    /**
+     * Sets the engine being followed. Must be called before the engine starts.
+     */
+    public void attach(GameEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Shows the score and lives, which after a restart are different from
+     * the last game's, and asks the player to watch.
+     */
+    @Override
+    public void onLevelStarted(int level) {
+        hud.setScore(engine.getScoreHelper().getScore());
+        hud.setLives(engine.getLives());
+        hud.setStatus(HudModel.Status.WATCH);
+    }
+
+    @Override
+    public void onSequenceFinished() {
+        hud.setStatus(HudModel.Status.REPEAT);
+    }
+
+    @Override
+    public void onCorrectClick(int tile, int color, int note) {
+        hud.setScore(engine.getScoreHelper().getScore());
+    }
+
+    @Override
+    public void onLevelComplete() {
+        hud.setStatus(HudModel.Status.CORRECT);
+    }
+
+    @Override
+    public void onWrongTile(int tile, int livesLeft) {
+        hud.setLives(livesLeft);
+        hud.setStatus(livesLeft <= 0 ? HudModel.Status.GAME_OVER : HudModel.Status.TRY_AGAIN);
+    }
+}
@@ -0,0 +1,101 @@
+package com.memorytiles.memorytilesgame;
+
+/**
+ * The HudModel class holds the values shown above the board: the score,
+ * the lives left and the status message. Values are plain ints and an
+ * enum, so setting them never allocates. Setting a value that has not
+ * changed does nothing; the first real change after the view has caught
+ * up calls the change listener once.
+ */
+public class HudModel {
+
+    /**
+     * The status messages the game can show.
+     */
+    public enum Status {
+        WELCOME("Welcome to Memory Tiles Game!"),
+        WATCH("Watch the sequence!"),
+        REPEAT("Repeat the sequence!"),
+        CORRECT("Correct! Moving to next level..."),
+        TRY_AGAIN("Wrong tile! Try again."),
+        GAME_OVER("Game Over"),
+        REPLAY_FINISHED("Replay finished.");
+
+        private final String text;
+
+        Status(String text) {
+            this.text = text;
+        }
+
+        public String getText() {
+            return text;
+        }
+    }
+
+    private int score;
+    private int lives;
+    private Status status = Status.WELCOME;
+    private boolean changed;
+    private Runnable changeListener;
+
+    /**
+     * Sets the action called when the model changes after the last call to
+     * clearChanged, for example to ask for a new frame.
+     */
+    public void setChangeListener(Runnable changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public void setScore(int score) {
+        if (this.score != score) {
+            this.score = score;
+            markChanged();
+        }
+    }
+
+    public int getLives() {
+        return lives;
+    }
+
+    public void setLives(int lives) {
+        if (this.lives != lives) {
+            this.lives = lives;
+            markChanged();
+        }
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        if (this.status != status) {
+            this.status = status;
+            markChanged();
+        }
+    }
+
+    /**
+     * Returns true if a value changed since the last call to clearChanged.
+     */
+    public boolean isChanged() {
+        return changed;
+    }
+
+    public void clearChanged() {
+        changed = false;
+    }
+
+    private void markChanged() {
+        if (!changed) {
+            changed = true;
+            if (changeListener != null) {
+                changeListener.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.memorytiles.memorytilesgame;
+
+import com.memorytiles.memorytilesgame.input.InputRing;
+import com.memorytiles.memorytilesgame.stats.Histogram;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.input.KeyEvent;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * The InputLayer class collects tile clicks and key presses, stamps each
+ * one with System.nanoTime() as it arrives and puts it in an InputRing.
+ * The ring is drained once per pulse, just before layout, and the events
+ * are passed on to the game in the order they happened. Nothing is
+ * dropped: if a burst fills the ring before the pulse, it is drained
+ * right away. At the end of the pulse that handled an event, the time
+ * since its stamp is recorded as the event-to-feedback latency. On canvas
+ * boards the tile itself is repainted one pulse later, so for them this
+ * is one frame short.
+ */
+public class InputLayer implements TileClickListener, InputRing.Handler {
+    /** Events held between two pulses before the ring is drained early. */
+    public static final int RING_CAPACITY = 256;
+
+    private final TileClickListener target;
+    private final InputRing ring = new InputRing(RING_CAPACITY);
+    private final Histogram feedback = new Histogram();
+    private final BitSet heldKeys = new BitSet();
+    private TileManager tileManager;
+    private KeyMap keyMap;
+
+    private long[] handled = new long[16];
+    private int handledCount;
+    private long mouseEvents;
+    private long keyEvents;
+
+    /**
+     * Creates an input layer that passes the events on to the given listener.
+     */
+    public InputLayer(TileClickListener target) {
+        this.target = target;
+    }
+
+    /**
+     * Starts listening to the keys of the given scene and draining the
+     * events in its pulses. Must be attached before anything else that
+     * runs before layout, such as the HudBinder, so the changes an event
+     * causes show up in the same pulse.
+     */
+    public void attach(Scene scene, TileManager tileManager) {
+        this.tileManager = tileManager;
+        keyMap = new KeyMap(tileManager.getRows(), tileManager.getCols());
+        scene.addEventFilter(KeyEvent.KEY_PRESSED, this::keyPressed);
+        scene.addEventFilter(KeyEvent.KEY_RELEASED, event -> heldKeys.clear(event.getCode().ordinal()));
+        // a key released in another window would otherwise stay held
+        scene.windowProperty().addListener((observable, oldWindow, window) -> {
+            if (window != null) {
+                window.focusedProperty().addListener((o, wasFocused, focused) -> heldKeys.clear());
+            }
+        });
+        scene.addPreLayoutPulseListener(() -> ring.drain(this));
+        scene.addPostLayoutPulseListener(this::recordFeedback);
+    }
+
+    /**
+     * Called by the board renderer for a mouse click on a tile.
+     */
+    @Override
+    public void onTileClicked(Tile tile) {
+        add(tile.getId(), InputRing.SOURCE_MOUSE, System.nanoTime());
+    }
+
+    /**
+     * Turns a mapped key into a tile event. Held keys repeat, and only the
+     * first press counts. Like mouse clicks, keys are ignored while the
+     * board does not take clicks.
+     */
+    private void keyPressed(KeyEvent event) {
+        long now = System.nanoTime();
+        int tile = keyMap.tileFor(event.getCode());
+        if (tile < 0) {
+            return;
+        }
+        event.consume();
+        int key = event.getCode().ordinal();
+        if (heldKeys.get(key)) {
+            return;
+        }
+        heldKeys.set(key);
+        if (tileManager.isClicksEnabled()) {
+            add(tile, InputRing.SOURCE_KEY, now);
+        }
+    }
+
+    private void add(int tile, int source, long stampNanos) {
+        if (!ring.offer(tile, source, stampNanos)) {
+            ring.drain(this);
+            ring.offer(tile, source, stampNanos);
+        }
+        Platform.requestNextPulse();
+    }
+
+    @Override
+    public void onInput(int tile, int source, long stampNanos) {
+        if (source == InputRing.SOURCE_KEY) {
+            keyEvents++;
+        } else {
+            mouseEvents++;
+        }
+        if (handledCount == handled.length) {
+            handled = Arrays.copyOf(handled, handledCount * 2);
+        }
+        handled[handledCount++] = stampNanos;
+        target.onTileClicked(tileManager.getTile(tile), stampNanos);
+    }
+
+    private void recordFeedback() {
+        if (handledCount == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (int i = 0; i < handledCount; i++) {
+            feedback.record(now - handled[i]);
+        }
+        handledCount = 0;
+    }
+
+    /**
+     * Returns the time from input events to the end of the pulse that handled them.
+     */
+    public Histogram getFeedback() {
+        return feedback;
+    }
+
+    public long getMouseEvents() {
+        return mouseEvents;
+    }
+
+    public long getKeyEvents() {
+        return keyEvents;
+    }
+
+    /**
+     * Returns a short summary of the input latency for the game over dialog.
+     */
+    public String getReport() {
+        return String.format("Input to screen: median %.1f ms, p99 %.1f ms (%d clicks, %d keys)",
+                feedback.getPercentileNanos(50) / 1e6, feedback.getPercentileNanos(99) / 1e6,
+                mouseEvents, keyEvents);
+    }
+}
@@ -0,0 +1,56 @@
+package com.memorytiles.memorytilesgame;
+
+import javafx.scene.input.KeyCode;
+
+import java.util.Arrays;
+
+/**
+ * The KeyMap class maps keys to tiles, following the layout of the
+ * keyboard: the rows 1 to 0, Q to P, A to ; and Z to / stand for the
+ * first four rows of the board, left to right. Boards up to 3x3 can also
+ * be played on the number pad, with 7 8 9 as the top row. Tiles beyond
+ * the fourth row or the tenth column have no key.
+ */
+public class KeyMap {
+    private static final KeyCode[][] KEYBOARD = {
+            {KeyCode.DIGIT1, KeyCode.DIGIT2, KeyCode.DIGIT3, KeyCode.DIGIT4, KeyCode.DIGIT5,
+                    KeyCode.DIGIT6, KeyCode.DIGIT7, KeyCode.DIGIT8, KeyCode.DIGIT9, KeyCode.DIGIT0},
+            {KeyCode.Q, KeyCode.W, KeyCode.E, KeyCode.R, KeyCode.T,
+                    KeyCode.Y, KeyCode.U, KeyCode.I, KeyCode.O, KeyCode.P},
+            {KeyCode.A, KeyCode.S, KeyCode.D, KeyCode.F, KeyCode.G,
+                    KeyCode.H, KeyCode.J, KeyCode.K, KeyCode.L, KeyCode.SEMICOLON},
+            {KeyCode.Z, KeyCode.X, KeyCode.C, KeyCode.V, KeyCode.B,
+                    KeyCode.N, KeyCode.M, KeyCode.COMMA, KeyCode.PERIOD, KeyCode.SLASH}
+    };
+    private static final KeyCode[][] NUMPAD = {
+            {KeyCode.NUMPAD7, KeyCode.NUMPAD8, KeyCode.NUMPAD9},
+            {KeyCode.NUMPAD4, KeyCode.NUMPAD5, KeyCode.NUMPAD6},
+            {KeyCode.NUMPAD1, KeyCode.NUMPAD2, KeyCode.NUMPAD3}
+    };
+
+    /** Tile id for each key, by KeyCode ordinal, or -1. */
+    private final int[] tiles = new int[KeyCode.values().length];
+
+    public KeyMap(int rows, int cols) {
+        Arrays.fill(tiles, -1);
+        add(KEYBOARD, rows, cols);
+        if (rows <= NUMPAD.length && cols <= NUMPAD[0].length) {
+            add(NUMPAD, rows, cols);
+        }
+    }
+
+    private void add(KeyCode[][] layout, int rows, int cols) {
+        for (int r = 0; r < Math.min(rows, layout.length); r++) {
+            for (int c = 0; c < Math.min(cols, layout[r].length); c++) {
+                tiles[layout[r][c].ordinal()] = r * cols + c;
+            }
+        }
+    }
+
+    /**
+     * Returns the tile for the given key, or -1 if the key is not mapped.
+     */
+    public int tileFor(KeyCode code) {
+        return tiles[code.ordinal()];
+    }
+}
@@ -0,0 +1,75 @@
+package com.memorytiles.memorytilesgame;
+
+import com.memorytiles.memorytilesgame.metrics.MetricsListener;
+import com.memorytiles.memorytilesgame.metrics.MetricsRegistry;
+import javafx.scene.Scene;
+import javafx.scene.layout.ColumnConstraints;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.RowConstraints;
+import javafx.stage.Stage;
+
+/**
+ * The MultiBoardUI class runs several independent games side by side in
+ * one window, for example one per player at an event. All boards share
+ * one PulseScheduler, so there is a single animation timer however many
+ * boards there are, and one SoundPlayer feeding the shared audio mixer.
+ * Nothing blocks the FX thread, so one board playing its sequence never
+ * holds up clicks on another.
+ */
+public class MultiBoardUI {
+    /** The most boards one window can hold. */
+    public static final int MAX_BOARDS = 16;
+
+    private final MetricsRegistry metrics = MetricsRegistry.getDefault();
+    private final PulseMonitor pulseMonitor = new PulseMonitor(metrics.timing("fx.pulse.layout"));
+
+    /**
+     * Shows the given number of boards, each with its own player,
+     * and starts all the games.
+     */
+    public void start(Stage stage, int boards, int rows, int cols, int lives) {
+        int count = Math.max(1, Math.min(boards, MAX_BOARDS));
+        int gridCols = (int) Math.ceil(Math.sqrt(count));
+        int gridRows = (count + gridCols - 1) / gridCols;
+
+        PulseScheduler scheduler = new PulseScheduler(metrics.timing("boards.scheduler.pulse"));
+        metrics.gauge("boards.timers.pending", scheduler::getPendingTimers);
+        SoundPlayer soundPlayer = new SoundPlayer();
+
+        GridPane grid = new GridPane();
+        grid.setHgap(8);
+        grid.setVgap(8);
+        grid.setStyle("-fx-padding: 8px;");
+        for (int c = 0; c < gridCols; c++) {
+            ColumnConstraints column = new ColumnConstraints();
+            column.setPercentWidth(100.0 / gridCols);
+            column.setHgrow(Priority.ALWAYS);
+            grid.getColumnConstraints().add(column);
+        }
+        for (int r = 0; r < gridRows; r++) {
+            RowConstraints row = new RowConstraints();
+            row.setPercentHeight(100.0 / gridRows);
+            row.setVgrow(Priority.ALWAYS);
+            grid.getRowConstraints().add(row);
+        }
+
+        BoardView[] views = new BoardView[count];
+        long seed = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            views[i] = new BoardView("Player " + (i + 1), rows, cols, lives, seed + i, scheduler, soundPlayer,
+                    new MetricsListener(metrics, i + 1));
+            grid.add(views[i].getNode(), i % gridCols, i / gridCols);
+        }
+
+        Scene scene = new Scene(grid, 1200, 900);
+        pulseMonitor.attach(scene);
+        stage.setScene(scene);
+        stage.setTitle("Memory Tiles Game - " + count + " boards");
+        stage.show();
+
+        for (BoardView view : views) {
+            view.start(scene);
+        }
+    }
+}
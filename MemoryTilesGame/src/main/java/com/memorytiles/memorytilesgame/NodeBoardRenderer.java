@@ -0,0 +1,96 @@
+package com.memorytiles.memorytilesgame;
+
+import javafx.geometry.Bounds;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.input.MouseButton;
+import javafx.scene.layout.GridPane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+
+import java.util.List;
+
+/**
+ * The NodeBoardRenderer class shows the board as a GridPane with one
+ * fixed-size Rectangle per tile. It is used for the normal board sizes.
+ * Clicks are handled by a single handler on the grid, which works out the
+ * tile from the mouse coordinates and checks one "clicks enabled" flag.
+ */
+public class NodeBoardRenderer implements BoardRenderer {
+    /** The size of each tile in pixels. */
+    public static final int SIZE = 100;
+
+    private final GridPane grid = new GridPane();
+    private final TileClickListener clickListener;
+    private final int rows;
+    private final int cols;
+    private Rectangle[] rects;
+    private List<Tile> tiles;
+    private boolean clicksEnabled;
+
+    public NodeBoardRenderer(int rows, int cols, TileClickListener clickListener) {
+        this.rows = rows;
+        this.cols = cols;
+        this.clickListener = clickListener;
+        grid.setAlignment(Pos.CENTER);
+        grid.setOnMouseClicked(event -> {
+            if (clicksEnabled && event.getButton() == MouseButton.PRIMARY) {
+                int id = tileAt(event.getX(), event.getY());
+                if (id >= 0) {
+                    clickListener.onTileClicked(tiles.get(id));
+                }
+            }
+        });
+    }
+
+    /**
+     * Creates a Rectangle for each tile and adds it to the grid.
+     *
+     */
+    public void setTiles(List<Tile> tiles) {
+        this.tiles = tiles;
+        rects = new Rectangle[tiles.size()];
+        for (Tile tile : tiles) {
+            Rectangle rect = new Rectangle(SIZE, SIZE);
+            rect.setFill(tile.getColor());
+            rect.setStroke(Color.BLACK);
+            rects[tile.getId()] = rect;
+            grid.add(rect, tile.getCol(), tile.getRow());
+        }
+    }
+
+    @Override
+    public Node getNode() {
+        return grid;
+    }
+
+    @Override
+    public void tileChanged(Tile tile) {
+        rects[tile.getId()].setFill(tile.getColor());
+    }
+
+    @Override
+    public void enableClicks() {
+        clicksEnabled = true;
+    }
+
+    @Override
+    public void disableClicks() {
+        clicksEnabled = false;
+    }
+
+    /**
+     * Returns the id of the tile at the given grid coordinates,
+     * or -1 if they are outside the tiles. All cells are the same size,
+     * so the first tile's bounds give the position of every other tile.
+     */
+    public int tileAt(double x, double y) {
+        Bounds first = rects[0].getBoundsInParent();
+        int col = (int) Math.floor((x - first.getMinX()) / first.getWidth());
+        int row = (int) Math.floor((y - first.getMinY()) / first.getHeight());
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            return -1;
+        }
+        return row * cols + col;
+    }
+}
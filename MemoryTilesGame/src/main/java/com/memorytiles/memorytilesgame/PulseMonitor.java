@@ -0,0 +1,48 @@
+package com.memorytiles.memorytilesgame;
+
+import com.memorytiles.memorytilesgame.metrics.Timing;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+
+/**
+ * The PulseMonitor class times the part of each JavaFX pulse spent on a
+ * scene, from just before CSS and layout to just after, and records it
+ * in a Timing. It can also time how long it takes until the end of the
+ * next pulse, which is when a change shows up on screen.
+ */
+public class PulseMonitor {
+    private final Timing timing;
+    private long pulseStart;
+    private Timing untilPulse;
+    private long markedAt;
+
+    public PulseMonitor(Timing timing) {
+        this.timing = timing;
+    }
+
+    /**
+     * Starts timing the pulses of the given scene.
+     */
+    public void attach(Scene scene) {
+        scene.addPreLayoutPulseListener(() -> pulseStart = System.nanoTime());
+        scene.addPostLayoutPulseListener(() -> {
+            if (pulseStart != 0) {
+                timing.record(System.nanoTime() - pulseStart);
+                pulseStart = 0;
+            }
+            if (untilPulse != null) {
+                untilPulse.record(System.nanoTime() - markedAt);
+                untilPulse = null;
+            }
+        });
+    }
+
+    /**
+     * Records in the given Timing the time from now until the end of the next pulse.
+     */
+    public void timeUntilNextPulse(Timing timing) {
+        markedAt = System.nanoTime();
+        untilPulse = timing;
+        Platform.requestNextPulse();
+    }
+}
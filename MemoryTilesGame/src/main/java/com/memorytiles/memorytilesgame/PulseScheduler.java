@@ -0,0 +1,116 @@
+package com.memorytiles.memorytilesgame;
+
+import com.memorytiles.memorytilesgame.engine.Scheduler;
+import com.memorytiles.memorytilesgame.engine.Timer;
+import com.memorytiles.memorytilesgame.metrics.Timing;
+import javafx.animation.AnimationTimer;
+
+import java.util.PriorityQueue;
+
+/**
+ * The PulseScheduler class runs the timers of many game engines from one
+ * AnimationTimer. Timers wait in a single queue ordered by due time, and
+ * on each pulse only the timers that are due are run, so boards that are
+ * waiting for input cost nothing. The AnimationTimer only runs while a
+ * timer is pending. Timers fire on the first pulse at or after their due
+ * time, which is at most one frame late.
+ */
+public class PulseScheduler implements Scheduler {
+    private final PriorityQueue<PulseTimer> queue = new PriorityQueue<>((a, b) -> {
+        if (a.due != b.due) {
+            return Long.compare(a.due, b.due);
+        }
+        return Long.compare(a.order, b.order);
+    });
+    private final Timing pulseTiming;
+    private long nextOrder;
+    private boolean running;
+
+    private final AnimationTimer pulse = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            runDue();
+        }
+    };
+
+    /**
+     * Creates a scheduler that records the time spent running timers in each
+     * pulse in the given Timing.
+     */
+    public PulseScheduler(Timing pulseTiming) {
+        this.pulseTiming = pulseTiming;
+    }
+
+    @Override
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public Timer newTimer(Runnable action) {
+        return new PulseTimer(action);
+    }
+
+    /**
+     * Returns how many timers are waiting to fire.
+     */
+    public int getPendingTimers() {
+        return queue.size();
+    }
+
+    private void runDue() {
+        long start = System.nanoTime();
+        while (!queue.isEmpty() && queue.peek().due <= start) {
+            PulseTimer timer = queue.poll();
+            timer.pending = false;
+            timer.action.run();
+        }
+        if (queue.isEmpty()) {
+            pulse.stop();
+            running = false;
+        }
+        pulseTiming.record(System.nanoTime() - start);
+    }
+
+    /**
+     * A timer that waits in the shared queue until it is due.
+     */
+    private class PulseTimer implements Timer {
+        private final Runnable action;
+        private long due;
+        private long order;
+        private boolean pending;
+
+        PulseTimer(Runnable action) {
+            this.action = action;
+        }
+
+        @Override
+        public void schedule(long delayNanos) {
+            if (pending) {
+                queue.remove(this);
+            }
+            due = System.nanoTime() + delayNanos;
+            order = nextOrder++;
+            pending = true;
+            queue.add(this);
+            if (!running) {
+                running = true;
+                pulse.start();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (pending) {
+                queue.remove(this);
+                pending = false;
+            }
+        }
+
+        @Override
+        public boolean isPending() {
+            return pending;
+        }
+    }
+}
@@ -1,82 +1,65 @@
 package com.memorytiles.memorytilesgame;
 
-import javafx.scene.media.AudioClip;
-import java.util.HashMap;
-import java.util.Map;
+import com.memorytiles.memorytilesgame.audio.AudioAssets;
+import com.memorytiles.memorytilesgame.audio.AudioMixer;
 
 /**
- * The SoundPlayer class handles loading and playing sound effects and musical notes
+ * The SoundPlayer class handles playing sound effects and musical notes
  * for the Memory Tiles game. It supports playing sounds like wrong, letsgo, and goodbye,
- * as well as individual musical note sounds.
+ * as well as a distinct note for each tile.
+ * The sounds come from the shared AudioAssets cache, which loads them in the
+ * background once per process, so creating a SoundPlayer does no audio I/O.
  */
 public class SoundPlayer {
-    private AudioClip wrongSound;
-    private AudioClip letsgoSound;
-    private AudioClip goodbyeSound;
-
-    private Map<String, AudioClip> noteSounds;
+    private final int wrongSound = AudioAssets.clipId("wrong");
+    private final int letsgoSound = AudioAssets.clipId("letsgo");
+    private final int goodbyeSound = AudioAssets.clipId("goodbye");
 
     public SoundPlayer() {
-        try {
-            wrongSound = new AudioClip(getClass().getResource("/wrong.wav").toExternalForm());
-            letsgoSound = new AudioClip(getClass().getResource("/letsgo.wav").toExternalForm());
-            goodbyeSound = new AudioClip(getClass().getResource("/goodbye.wav").toExternalForm());
-
-            noteSounds = new HashMap<>();
-            for (char c = 'a'; c <= 'g'; c++) {
-                String name = String.valueOf(c);
-                noteSounds.put(name, new AudioClip(getClass().getResource("/" + name + ".wav").toExternalForm()));
-            }
-        } catch (Exception e) {
-            System.out.println("Sound files not found or failed to load.");
-        }
+        AudioAssets.preload();
     }
 
-
     /**
      * Plays the sound indicating a wrong move or error.
      */
     public void playWrong() {
-        if (wrongSound != null) {
-            wrongSound.play();
-        }
+        play(wrongSound);
     }
 
     /**
      * Plays the sound indicating start of a fresh game.
      */
     public void playLetsGo() {
-        if (letsgoSound != null) {
-            letsgoSound.play();
-        }
+        play(letsgoSound);
     }
 
     /**
      * Plays the sound indicating the end or goodbye.
      */
     public void playGoodbye() {
-        if (goodbyeSound != null) {
-            goodbyeSound.play();
-        }
+        play(goodbyeSound);
     }
 
     /**
-     * Plays the sound associated with the given musical note.
-     *
+     * Plays the note of the tile with the given id. Every tile on a board of
+     * up to AudioAssets.TONE_COUNT tiles has its own pitch.
      */
-    public void playNote(String note) {
-        AudioClip clip = noteSounds.get(note);
-        if (clip != null) {
-            clip.play();
-        }
+    public void playTile(int tile) {
+        play(AudioAssets.toneId(tile));
     }
 
     /**
-     * Returns a random musical note character between 'a' and 'g'.
-     *
+     * Returns the mixer playing the sounds, or null if it is not ready yet
+     * or sound is off.
      */
-    public String getRandomNote() {
-        int index = (int)(Math.random() * 7); // 0 to 6
-        return String.valueOf((char)('a' + index)); // 'a' to 'g'
+    public AudioMixer getMixer() {
+        return AudioAssets.getMixerIfReady();
+    }
+
+    private void play(int clip) {
+        AudioMixer mixer = AudioAssets.getMixerIfReady();
+        if (mixer != null) {
+            mixer.play(clip);
+        }
     }
 }
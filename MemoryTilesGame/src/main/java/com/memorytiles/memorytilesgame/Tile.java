@@ -1,38 +1,55 @@
 package com.memorytiles.memorytilesgame;
 
-import javafx.scene.input.MouseButton;
 import javafx.scene.paint.Color;
-import javafx.scene.shape.Rectangle;
+
+import java.util.BitSet;
 
 /**
  * The Tile class represents an individual tile in the Memory Tiles game grid.
- * Each tile has a fixed size, row and column position, and manages its appearance
- * and user click actions with the game UI.
+ * Each tile has a row and column position and a current color. It is only
+ * a model: the board's renderer draws it and is told whenever it changes.
+ * Setting the color a tile already has does nothing, and the board's
+ * changed set records which tiles are not in the default color.
  */
 public class Tile {
-    private static final int SIZE = 100;
+    /** The color of a tile that is not lit. */
+    public static final Color DEFAULT_COLOR = Color.LIGHTGRAY;
 
     private int row;
     private int col;
-    private Rectangle rect;
-    private GameUI gameUI;
+    private int id;
+    private Color color = DEFAULT_COLOR;
+    private BoardRenderer renderer;
+    private BitSet changed;
 
-    public Tile(int row, int col, GameUI gameUI) {
+    public Tile(int row, int col, int id, BoardRenderer renderer, BitSet changed) {
         this.row = row;
         this.col = col;
-        this.gameUI = gameUI;
+        this.id = id;
+        this.renderer = renderer;
+        this.changed = changed;
+    }
+
+    public int getRow() {
+        return row;
+    }
 
-        rect = new Rectangle(SIZE, SIZE);
-        rect.setFill(Color.LIGHTGRAY);
-        rect.setStroke(Color.BLACK);
+    public int getCol() {
+        return col;
     }
 
     /**
-     * Returns the node representing the tile.
-     *
+     * Returns the tile's id, which is row * columns + column.
      */
-    public Rectangle getNode() {
-        return rect;
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the color the tile is currently showing.
+     */
+    public Color getColor() {
+        return color;
     }
 
     /**
@@ -40,47 +57,48 @@ public class Tile {
      *
      */
     public void flash(Color color) {
-        rect.setFill(color);
+        setColor(color);
     }
 
     /**
      * Resets the tile's color back to the default light gray, removing any flash effect.
      */
     public void unflash() {
-        rect.setFill(Color.LIGHTGRAY);
+        setColor(DEFAULT_COLOR);
     }
 
     /**
-     * Enables mouse click events on the tile, notifying the GameUI when clicked.
-     * Only primary (left) mouse button clicks are handled.
+     * Resets the tile's color to the default light gray.
      */
-    public void enableClick() {
-        rect.setOnMouseClicked(event -> {
-            if (event.getButton() == MouseButton.PRIMARY) {
-                gameUI.onTileClicked(this);
-            }
-        });
+    public void resetColor() {
+        setColor(DEFAULT_COLOR);
     }
 
     /**
-     * Disables mouse click events on the tile.
+     * Sets the tile's color to red to indicate an error.
      */
-    public void disableClick() {
-        rect.setOnMouseClicked(null);
+    public void showError() {
+        setColor(Color.RED);
     }
 
     /**
-     * Resets the tile's color to the default light gray.
+     * Returns true if the tile is not showing the default color.
      */
-    public void resetColor() {
-        rect.setFill(Color.LIGHTGRAY);
+    public boolean isChanged() {
+        return changed.get(id);
     }
 
-    /**
-     * Sets the tile's color to red to indicate an error.
-     */
-    public void showError() {
-        rect.setFill(Color.RED);
+    private void setColor(Color color) {
+        if (color.equals(this.color)) {
+            return;
+        }
+        this.color = color;
+        if (color.equals(DEFAULT_COLOR)) {
+            changed.clear(id);
+        } else {
+            changed.set(id);
+        }
+        renderer.tileChanged(this);
     }
 
     /**
@@ -95,4 +113,12 @@ public class Tile {
         }
         return false;
     }
+
+    /**
+     * Returns a hash code that matches equals, based on the row and column.
+     */
+    @Override
+    public int hashCode() {
+        return 31 * row + col;
+    }
 }
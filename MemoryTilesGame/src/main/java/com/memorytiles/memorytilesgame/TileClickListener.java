@@ -0,0 +1,19 @@
+package com.memorytiles.memorytilesgame;
+
+/**
+ * The TileClickListener interface is told when the player clicks a tile
+ * on a board. GameUI implements it for the normal game, and each board
+ * of the multi-board mode has its own.
+ */
+public interface TileClickListener {
+
+    void onTileClicked(Tile tile);
+
+    /**
+     * Called for a click that was queued, with the System.nanoTime() it
+     * happened at. By default the time is ignored.
+     */
+    default void onTileClicked(Tile tile, long stampNanos) {
+        onTileClicked(tile);
+    }
+}
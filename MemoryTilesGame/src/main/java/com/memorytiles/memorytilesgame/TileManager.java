@@ -1,66 +1,129 @@
 package com.memorytiles.memorytilesgame;
 
-import javafx.scene.layout.GridPane;
+import javafx.scene.Node;
+
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 /**
  * The TileManager class manages a grid of Tile objects
  * for the Memory Tiles game. It handles tile creation, enabling/disabling
  * clicks, resetting tile colors, and provides access to tiles.
+ * Boards up to 7x7 are drawn with one node per tile, and bigger boards
+ * are drawn on a single canvas. The manager keeps a set of the tiles that
+ * are not in their default color, so resetting the board only touches
+ * those and costs the same on a 256x256 board as on a 3x3 one.
  */
 public class TileManager {
+    /** The biggest board drawn with one node per tile. */
+    public static final int MAX_NODE_GRID = 7;
+    /** The biggest board the game supports. */
+    public static final int MAX_GRID = 256;
+
     private int rows;
     private int cols;
     private List<Tile> tiles = new ArrayList<>();
-    private GameUI gameUI;
+    private final BitSet changed = new BitSet();
+    private BoardRenderer renderer;
+    private boolean clicksEnabled;
+
+    public TileManager(int rows, int cols, TileClickListener clickListener) {
+        this(rows, cols, clickListener, rows > MAX_NODE_GRID || cols > MAX_NODE_GRID);
+    }
 
-    public TileManager(int rows, int cols, GameUI gameUI, GridPane gridPane) {
+    /**
+     * Creates the board, drawing it on a canvas if useCanvas is true
+     * and with one node per tile otherwise.
+     */
+    public TileManager(int rows, int cols, TileClickListener clickListener, boolean useCanvas) {
         this.rows = rows;
         this.cols = cols;
-        this.gameUI = gameUI;
-        createTiles(gridPane);
+        if (useCanvas) {
+            CanvasBoardRenderer canvasRenderer = new CanvasBoardRenderer(rows, cols, clickListener);
+            renderer = canvasRenderer;
+            createTiles();
+            canvasRenderer.setTiles(tiles);
+        } else {
+            NodeBoardRenderer nodeRenderer = new NodeBoardRenderer(rows, cols, clickListener);
+            renderer = nodeRenderer;
+            createTiles();
+            nodeRenderer.setTiles(tiles);
+        }
     }
 
     /**
-     * Creates Tile objects for the grid and adds them to the provided GridPane.
-     *
+     * Creates Tile objects for the grid, in row order so a tile's
+     * index in the list is its id.
      */
-    private void createTiles(GridPane gridPane) {
+    private void createTiles() {
         for (int r = 0; r < rows; r++) {
             for (int c = 0; c < cols; c++) {
-                Tile tile = new Tile(r, c, gameUI);
-                tiles.add(tile);
-                gridPane.add(tile.getNode(), c, r);
+                tiles.add(new Tile(r, c, r * cols + c, renderer, changed));
             }
         }
     }
 
     /**
-     * Resets the color of all tiles to their default state.
+     * Returns the node that shows the board.
+     */
+    public Node getNode() {
+        return renderer.getNode();
+    }
+
+    /**
+     * Returns true if the board is drawn on a canvas.
+     */
+    public boolean isCanvas() {
+        return renderer instanceof CanvasBoardRenderer;
+    }
+
+    /**
+     * Resets the color of all tiles to their default state. Only the
+     * tiles that are lit or showing an error are touched.
      */
     public void resetTiles() {
-        for (Tile tile : tiles) {
-            tile.resetColor();
+        for (int id = changed.nextSetBit(0); id >= 0; id = changed.nextSetBit(id + 1)) {
+            tiles.get(id).resetColor();
         }
     }
 
+    /**
+     * Returns the number of tiles that are not in their default color.
+     */
+    public int getChangedCount() {
+        return changed.cardinality();
+    }
+
     /**
      * Enables mouse click handling for all tiles.
      */
     public void enableClicks() {
-        for (Tile tile : tiles) {
-            tile.enableClick();
-        }
+        clicksEnabled = true;
+        renderer.enableClicks();
     }
 
     /**
      * Disables mouse click handling for all tiles.
      */
     public void disableClicks() {
-        for (Tile tile : tiles) {
-            tile.disableClick();
-        }
+        clicksEnabled = false;
+        renderer.disableClicks();
+    }
+
+    /**
+     * Returns true if the tiles take clicks.
+     */
+    public boolean isClicksEnabled() {
+        return clicksEnabled;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
     }
 
     /**
@@ -71,10 +134,9 @@ public class TileManager {
     }
 
     /**
-     * Returns a randomly selected tile from the tiles.
+     * Returns the tile with the given id.
      */
-    public Tile getRandomTile() {
-        int index = (int) (Math.random() * tiles.size());
-        return tiles.get(index);
+    public Tile getTile(int id) {
+        return tiles.get(id);
     }
 }
@@ -0,0 +1,125 @@
+package com.memorytiles.memorytilesgame.audio;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * The AudioAssets class is the process-wide cache of the game's sounds.
+ * The first call to preload decodes the sound effects in parallel in the
+ * background, renders the bank of tile notes with a ToneSynth, and then
+ * starts one shared AudioMixer with all of them. Later games reuse the
+ * same mixer, and nothing ever waits for the loading to finish: sounds
+ * played before it is ready are skipped.
+ */
+public final class AudioAssets {
+    /** The sound effects in the order they are added to the mixer, so a clip's id is its index. */
+    private static final String[] CLIP_NAMES = {
+            "wrong", "letsgo", "goodbye"
+    };
+    /** Number of synthesized notes, one per tile on every grid up to 7x7. */
+    public static final int TONE_COUNT = 49;
+    /** The lowest synthesized note, C3 as a MIDI note number. */
+    public static final int LOWEST_NOTE = 48;
+
+    private static ToneSynth synth = new ToneSynth(Timbre.MARIMBA, Envelope.PLUCK, 0.3, 0.5);
+    private static CompletableFuture<AudioMixer> mixer;
+
+    private AudioAssets() {
+    }
+
+    /**
+     * Sets the synth the notes are rendered with. Only has an effect if
+     * called before the sounds start loading.
+     */
+    public static synchronized void setSynth(ToneSynth toneSynth) {
+        synth = toneSynth;
+    }
+
+    /**
+     * Starts loading the sounds in the background if that has not happened yet.
+     * Returns a future that completes with the shared mixer.
+     */
+    public static synchronized CompletableFuture<AudioMixer> preload() {
+        if (mixer == null) {
+            mixer = load();
+        }
+        return mixer;
+    }
+
+    /**
+     * Returns the shared mixer if it has finished loading, or null otherwise.
+     * Never blocks.
+     */
+    public static AudioMixer getMixerIfReady() {
+        CompletableFuture<AudioMixer> future = preload();
+        if (future.isDone() && !future.isCompletedExceptionally()) {
+            return future.join();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the mixer id of the sound effect with the given name, like
+     * "wrong", or -1 if there is no such clip.
+     */
+    public static int clipId(String name) {
+        return Arrays.asList(CLIP_NAMES).indexOf(name);
+    }
+
+    /**
+     * Returns the mixer id of a synthesized note, counting in semitones
+     * from LOWEST_NOTE. Notes past the top of the bank wrap around.
+     */
+    public static int toneId(int tone) {
+        return CLIP_NAMES.length + Math.floorMod(tone, TONE_COUNT);
+    }
+
+    private static CompletableFuture<AudioMixer> load() {
+        List<CompletableFuture<PcmClip>> clips = new ArrayList<>(CLIP_NAMES.length);
+        for (String name : CLIP_NAMES) {
+            clips.add(CompletableFuture.supplyAsync(() -> loadClip(name)));
+        }
+        ToneSynth toneSynth = synth;
+        CompletableFuture<PcmClip[]> tones = CompletableFuture.supplyAsync(
+                () -> toneSynth.renderBank(LOWEST_NOTE, TONE_COUNT));
+
+        CompletableFuture<AudioMixer> result = CompletableFuture.allOf(clips.toArray(new CompletableFuture<?>[0])).thenCombine(tones, (v, toneClips) -> {
+            AudioMixer audioMixer = new AudioMixer(new LineSink());
+            for (CompletableFuture<PcmClip> clip : clips) {
+                audioMixer.addClip(clip.join());
+            }
+            for (PcmClip tone : toneClips) {
+                audioMixer.addClip(tone);
+            }
+            try {
+                audioMixer.start();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+            return audioMixer;
+        });
+        result.exceptionally(e -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            System.out.println("Sound could not be started, sound is off: " + cause);
+            return null;
+        });
+        return result;
+    }
+
+    /**
+     * Decodes one clip. A clip that fails to load is replaced by silence
+     * so the ids of the other clips stay the same.
+     */
+    private static PcmClip loadClip(String name) {
+        try {
+            return PcmClip.load("/" + name + ".wav");
+        } catch (IOException e) {
+            System.out.println("Sound file " + name + ".wav not found or failed to load.");
+            return new PcmClip(name, new short[0]);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.memorytiles.memorytilesgame.audio;
+
+import javax.sound.sampled.LineUnavailableException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The AudioMixer class plays decoded clips on its own audio thread.
+ * Play requests are passed through a lock-free queue, so calling play from
+ * the JavaFX thread never waits for the sound system. The audio thread mixes
+ * all playing voices into small blocks and writes them to an AudioSink.
+ * It also measures the time from each play request to the block that
+ * first contains the sound.
+ */
+public class AudioMixer {
+    /** Frames rendered per block, about 5.8 ms at 44.1 kHz. */
+    public static final int BLOCK_FRAMES = 256;
+    /** Most clips that can sound at the same time. */
+    public static final int MAX_VOICES = 32;
+
+    private final List<PcmClip> clips = new ArrayList<>();
+    private final CommandQueue commands = new CommandQueue(256);
+    private final AudioSink sink;
+
+    private short[][] clipSamples = new short[0][];
+    private final int[] voiceClip = new int[MAX_VOICES];
+    private final int[] voicePosition = new int[MAX_VOICES];
+    private int activeVoices;
+
+    private final int[] mixBuffer = new int[BLOCK_FRAMES * 2];
+    private final byte[] outBuffer = new byte[BLOCK_FRAMES * 4];
+
+    private volatile boolean running;
+    private Thread thread;
+
+    private final AtomicLong playRequests = new AtomicLong();
+    private final AtomicLong droppedRequests = new AtomicLong();
+    private volatile long renderedVoices;
+    private volatile long totalLatencyNanos;
+    private volatile long maxLatencyNanos;
+
+    public AudioMixer(AudioSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Adds a decoded clip to the mixer and returns its id for play.
+     * Clips must be added before the mixer is started.
+     */
+    public synchronized int addClip(PcmClip clip) {
+        if (running) {
+            throw new IllegalStateException("Clips must be added before the mixer starts.");
+        }
+        clips.add(clip);
+        clipSamples = new short[clips.size()][];
+        for (int i = 0; i < clips.size(); i++) {
+            clipSamples[i] = clips.get(i).getSamples();
+        }
+        return clips.size() - 1;
+    }
+
+    /**
+     * Opens the sink and starts the audio thread.
+     *
+     */
+    public synchronized void start() throws LineUnavailableException {
+        if (running) {
+            return;
+        }
+        sink.open(PcmClip.FORMAT, outBuffer.length * 4);
+        running = true;
+        thread = new Thread(this::run, "audio-mixer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * Stops the audio thread and closes the sink.
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sink.close();
+    }
+
+    /**
+     * Asks the audio thread to play the clip with the given id.
+     * Never blocks. Returns false if there is no clip with that id or
+     * the request queue was full.
+     */
+    public boolean play(int clip) {
+        if (clip < 0 || clip >= clipSamples.length) {
+            return false;
+        }
+        playRequests.incrementAndGet();
+        if (!commands.offer(clip, System.nanoTime())) {
+            droppedRequests.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private void run() {
+        while (running) {
+            renderBlock();
+            sink.write(outBuffer, outBuffer.length);
+        }
+    }
+
+    /**
+     * Starts voices for waiting requests, then mixes one block of audio.
+     */
+    void renderBlock() {
+        long now = System.nanoTime();
+        while (commands.hasNext()) {
+            int clip = commands.peekClip();
+            long latency = now - commands.peekTimestamp();
+            commands.advance();
+            if (activeVoices == MAX_VOICES) {
+                stealOldestVoice();
+            }
+            voiceClip[activeVoices] = clip;
+            voicePosition[activeVoices] = 0;
+            activeVoices++;
+
+            renderedVoices++;
+            totalLatencyNanos += latency;
+            if (latency > maxLatencyNanos) {
+                maxLatencyNanos = latency;
+            }
+        }
+
+        Arrays.fill(mixBuffer, 0);
+        for (int v = 0; v < activeVoices; v++) {
+            short[] samples = clipSamples[voiceClip[v]];
+            int position = voicePosition[v];
+            int count = Math.min(mixBuffer.length, samples.length - position);
+            for (int i = 0; i < count; i++) {
+                mixBuffer[i] += samples[position + i];
+            }
+            voicePosition[v] = position + count;
+        }
+        removeFinishedVoices();
+
+        for (int i = 0, b = 0; i < mixBuffer.length; i++) {
+            int sample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, mixBuffer[i]));
+            outBuffer[b++] = (byte) sample;
+            outBuffer[b++] = (byte) (sample >> 8);
+        }
+    }
+
+    private void removeFinishedVoices() {
+        int kept = 0;
+        for (int v = 0; v < activeVoices; v++) {
+            if (voicePosition[v] < clipSamples[voiceClip[v]].length) {
+                voiceClip[kept] = voiceClip[v];
+                voicePosition[kept] = voicePosition[v];
+                kept++;
+            }
+        }
+        activeVoices = kept;
+    }
+
+    private void stealOldestVoice() {
+        System.arraycopy(voiceClip, 1, voiceClip, 0, activeVoices - 1);
+        System.arraycopy(voicePosition, 1, voicePosition, 0, activeVoices - 1);
+        activeVoices--;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Returns how many play requests were made.
+     */
+    public long getPlayRequests() {
+        return playRequests.get();
+    }
+
+    /**
+     * Returns how many play requests were dropped because the queue was full.
+     */
+    public long getDroppedRequests() {
+        return droppedRequests.get();
+    }
+
+    /**
+     * Returns the average time in nanoseconds from a play request
+     * to the block that first renders it.
+     */
+    public long getAverageLatencyNanos() {
+        long count = renderedVoices;
+        return count == 0 ? 0 : totalLatencyNanos / count;
+    }
+
+    /**
+     * Returns the longest time in nanoseconds from a play request
+     * to the block that first renders it.
+     */
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos;
+    }
+
+    /**
+     * Returns a one-line summary of the measured latency.
+     */
+    public String getLatencyReport() {
+        return String.format("audio: %d plays, %d dropped, avg %.2f ms, max %.2f ms to render",
+                renderedVoices, droppedRequests.get(),
+                getAverageLatencyNanos() / 1_000_000.0, maxLatencyNanos / 1_000_000.0);
+    }
+}
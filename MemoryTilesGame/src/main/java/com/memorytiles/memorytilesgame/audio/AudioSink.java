@@ -0,0 +1,29 @@
+package com.memorytiles.memorytilesgame.audio;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.LineUnavailableException;
+
+/**
+ * The AudioSink interface is where the AudioMixer sends the sound it renders.
+ * A LineSink plays it on the sound card, and a MemorySink keeps it in memory
+ * so the mixer can run on machines without audio.
+ */
+public interface AudioSink {
+
+    /**
+     * Prepares the sink for audio in the given format, buffering about
+     * the given number of bytes.
+     */
+    void open(AudioFormat format, int bufferBytes) throws LineUnavailableException;
+
+    /**
+     * Writes a block of rendered audio. Real-time sinks block until
+     * there is room, which is what paces the mixer thread.
+     */
+    void write(byte[] data, int length);
+
+    /**
+     * Releases the sink.
+     */
+    void close();
+}
@@ -0,0 +1,87 @@
+package com.memorytiles.memorytilesgame.audio;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The CommandQueue class is a bounded lock-free queue of play requests.
+ * Any thread can offer a request, and only the audio thread polls them.
+ * Each slot has a sequence number that tells producers and the consumer
+ * whose turn it is, so nothing is allocated per request.
+ */
+final class CommandQueue {
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final int[] clips;
+    private final long[] timestamps;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    /**
+     * Creates a queue with room for the given number of requests,
+     * rounded up to a power of two.
+     */
+    CommandQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        mask = size - 1;
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        clips = new int[size];
+        timestamps = new long[size];
+    }
+
+    /**
+     * Adds a request to play a clip. Returns false if the queue is full.
+     */
+    boolean offer(int clip, long timestamp) {
+        long pos;
+        int index;
+        while (true) {
+            pos = tail.get();
+            index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    break;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+        }
+        clips[index] = clip;
+        timestamps[index] = timestamp;
+        sequences.lazySet(index, pos + 1);
+        return true;
+    }
+
+    /**
+     * Returns true if there is a request ready for the consumer.
+     */
+    boolean hasNext() {
+        return sequences.get((int) (head & mask)) == head + 1;
+    }
+
+    /**
+     * Returns the clip of the request at the head. Call only after hasNext.
+     */
+    int peekClip() {
+        return clips[(int) (head & mask)];
+    }
+
+    /**
+     * Returns the timestamp of the request at the head. Call only after hasNext.
+     */
+    long peekTimestamp() {
+        return timestamps[(int) (head & mask)];
+    }
+
+    /**
+     * Removes the request at the head and hands its slot back to producers.
+     */
+    void advance() {
+        sequences.lazySet((int) (head & mask), head + mask + 1);
+        head++;
+    }
+}
@@ -0,0 +1,62 @@
+package com.memorytiles.memorytilesgame.audio;
+
+/**
+ * The Envelope class shapes the loudness of a synthesized note over time:
+ * it rises to full volume during the attack, falls to the sustain level
+ * during the decay, and fades to silence during the release at the end
+ * of the note. Times are in seconds, the sustain level is 0 to 1.
+ */
+public class Envelope {
+    /** A short pluck that suits a tile flash. */
+    public static final Envelope PLUCK = new Envelope(0.005, 0.12, 0.35, 0.15);
+
+    private final double attack;
+    private final double decay;
+    private final double sustain;
+    private final double release;
+
+    public Envelope(double attack, double decay, double sustain, double release) {
+        if (attack < 0 || decay < 0 || release < 0 || sustain < 0 || sustain > 1) {
+            throw new IllegalArgumentException("Envelope times must be positive and sustain between 0 and 1.");
+        }
+        this.attack = attack;
+        this.decay = decay;
+        this.sustain = sustain;
+        this.release = release;
+    }
+
+    /**
+     * Returns the loudness at the given time into a note of the given length.
+     */
+    public double levelAt(double time, double length) {
+        double level;
+        if (time < attack) {
+            level = time / attack;
+        } else if (time < attack + decay) {
+            level = 1 - (1 - sustain) * (time - attack) / decay;
+        } else {
+            level = sustain;
+        }
+        double releaseStart = length - release;
+        if (time > releaseStart) {
+            level *= Math.max(0, (length - time) / release);
+        }
+        return level;
+    }
+
+    public double getAttack() {
+        return attack;
+    }
+
+    public double getDecay() {
+        return decay;
+    }
+
+    public double getSustain() {
+        return sustain;
+    }
+
+    public double getRelease() {
+        return release;
+    }
+}
@@ -0,0 +1,34 @@
+package com.memorytiles.memorytilesgame.audio;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+/**
+ * The LineSink class plays the mixer's audio on the default sound device
+ * through a SourceDataLine with a small buffer.
+ */
+public class LineSink implements AudioSink {
+    private SourceDataLine line;
+
+    @Override
+    public void open(AudioFormat format, int bufferBytes) throws LineUnavailableException {
+        line = AudioSystem.getSourceDataLine(format);
+        line.open(format, bufferBytes);
+        line.start();
+    }
+
+    @Override
+    public void write(byte[] data, int length) {
+        line.write(data, 0, length);
+    }
+
+    @Override
+    public void close() {
+        if (line != null) {
+            line.drain();
+            line.close();
+        }
+    }
+}
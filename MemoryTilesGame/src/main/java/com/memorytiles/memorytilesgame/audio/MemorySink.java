@@ -0,0 +1,69 @@
+package com.memorytiles.memorytilesgame.audio;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The MemorySink class keeps the mixer's audio in memory instead of playing it,
+ * for testing on machines without a sound device. The audio can be saved as
+ * a WAV file afterwards. In real-time mode each write waits as long as the
+ * block would take to play, so the mixer runs at the same speed as with a device.
+ */
+public class MemorySink implements AudioSink {
+    private final boolean realTime;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private AudioFormat format;
+    private long nextWriteAt;
+
+    public MemorySink(boolean realTime) {
+        this.realTime = realTime;
+    }
+
+    @Override
+    public void open(AudioFormat format, int bufferBytes) {
+        this.format = format;
+        this.nextWriteAt = System.nanoTime();
+    }
+
+    @Override
+    public synchronized void write(byte[] data, int length) {
+        buffer.write(data, 0, length);
+        if (realTime) {
+            long frames = length / format.getFrameSize();
+            nextWriteAt += (long) (frames * 1_000_000_000L / format.getSampleRate());
+            long wait = nextWriteAt - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Returns a copy of everything written so far.
+     */
+    public synchronized byte[] toByteArray() {
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Saves everything written so far as a WAV file.
+     *
+     */
+    public void saveWav(File file) throws IOException {
+        byte[] data = toByteArray();
+        AudioInputStream stream = new AudioInputStream(new ByteArrayInputStream(data), format,
+                data.length / format.getFrameSize());
+        AudioSystem.write(stream, AudioFileFormat.Type.WAVE, file);
+    }
+}
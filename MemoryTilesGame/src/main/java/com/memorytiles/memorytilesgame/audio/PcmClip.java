@@ -0,0 +1,134 @@
+package com.memorytiles.memorytilesgame.audio;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The PcmClip class holds a sound that has been decoded once into the
+ * mixer's format: 16 bit stereo samples at 44.1 kHz, interleaved left/right.
+ * Mono clips are copied to both channels and other sample rates are resampled.
+ */
+public final class PcmClip {
+    /** The sample rate every clip is converted to. */
+    public static final float SAMPLE_RATE = 44100f;
+    /** The format the mixer renders: 16 bit signed stereo, little-endian. */
+    public static final AudioFormat FORMAT = new AudioFormat(SAMPLE_RATE, 16, 2, true, false);
+
+    private final String name;
+    private final short[] samples;
+
+    public PcmClip(String name, short[] samples) {
+        this.name = name;
+        this.samples = samples;
+    }
+
+    /**
+     * Loads and decodes a WAV file from the classpath, for example "/wrong.wav".
+     *
+     */
+    public static PcmClip load(String resource) throws IOException {
+        InputStream in = PcmClip.class.getResourceAsStream(resource);
+        if (in == null) {
+            throw new IOException("Sound file not found: " + resource);
+        }
+        try (InputStream stream = new BufferedInputStream(in)) {
+            return decode(resource, stream);
+        }
+    }
+
+    /**
+     * Decodes a WAV stream into the mixer format. Supports 16 bit signed
+     * and 32 bit float PCM, mono or stereo, at any sample rate.
+     */
+    public static PcmClip decode(String name, InputStream stream) throws IOException {
+        try (AudioInputStream audio = AudioSystem.getAudioInputStream(stream)) {
+            AudioFormat format = audio.getFormat();
+            int channels = format.getChannels();
+            int bytesPerSample = format.getSampleSizeInBits() / 8;
+            boolean isFloat = format.getEncoding() == AudioFormat.Encoding.PCM_FLOAT;
+            if (!(isFloat && bytesPerSample == 4)
+                    && !(format.getEncoding() == AudioFormat.Encoding.PCM_SIGNED && bytesPerSample == 2)) {
+                throw new IOException("Unsupported sound format in " + name + ": " + format);
+            }
+
+            ByteBuffer data = ByteBuffer.wrap(audio.readAllBytes());
+            data.order(format.isBigEndian() ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+            int frames = data.capacity() / (bytesPerSample * channels);
+
+            float[] left = new float[frames];
+            float[] right = new float[frames];
+            for (int i = 0; i < frames; i++) {
+                float l = readSample(data, isFloat);
+                float r = channels > 1 ? readSample(data, isFloat) : l;
+                for (int c = 2; c < channels; c++) {
+                    readSample(data, isFloat);
+                }
+                left[i] = l;
+                right[i] = r;
+            }
+            return new PcmClip(name, toStereo(left, right, format.getSampleRate()));
+        } catch (UnsupportedAudioFileException e) {
+            throw new IOException("Not a supported sound file: " + name, e);
+        }
+    }
+
+    private static float readSample(ByteBuffer data, boolean isFloat) {
+        return isFloat ? data.getFloat() : data.getShort() / 32768f;
+    }
+
+    /**
+     * Resamples the channels to 44.1 kHz with linear interpolation and
+     * interleaves them as 16 bit samples.
+     */
+    private static short[] toStereo(float[] left, float[] right, float sourceRate) {
+        int frames = left.length;
+        int outFrames = sourceRate == SAMPLE_RATE ? frames : (int) ((long) frames * SAMPLE_RATE / sourceRate);
+        double step = sourceRate / SAMPLE_RATE;
+        short[] out = new short[outFrames * 2];
+        for (int i = 0; i < outFrames; i++) {
+            double pos = i * step;
+            int index = (int) pos;
+            double frac = pos - index;
+            int next = Math.min(index + 1, frames - 1);
+            out[i * 2] = toShort(left[index] + (left[next] - left[index]) * frac);
+            out[i * 2 + 1] = toShort(right[index] + (right[next] - right[index]) * frac);
+        }
+        return out;
+    }
+
+    private static short toShort(double sample) {
+        double scaled = sample * 32767.0;
+        if (scaled > Short.MAX_VALUE) {
+            return Short.MAX_VALUE;
+        }
+        if (scaled < Short.MIN_VALUE) {
+            return Short.MIN_VALUE;
+        }
+        return (short) Math.round(scaled);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the interleaved stereo samples. The array is shared, not copied.
+     */
+    public short[] getSamples() {
+        return samples;
+    }
+
+    /**
+     * Returns the length of the clip in stereo frames.
+     */
+    public int getFrames() {
+        return samples.length / 2;
+    }
+}
@@ -0,0 +1,61 @@
+package com.memorytiles.memorytilesgame.audio;
+
+/**
+ * The Timbre class describes the sound of a note by the strength of its
+ * harmonics: the first value is the fundamental, the second the octave
+ * above it, and so on. It renders one cycle of that wave into a table,
+ * which the ToneSynth then reads at the speed of each pitch.
+ */
+public class Timbre {
+    /** A pure sine wave. */
+    public static final Timbre SINE = new Timbre(1.0);
+    /** A soft, slightly hollow tone, like a mallet on wood. */
+    public static final Timbre MARIMBA = new Timbre(1.0, 0.0, 0.35, 0.0, 0.12, 0.0, 0.05);
+    /** A brighter tone with all harmonics, like a simple organ. */
+    public static final Timbre ORGAN = new Timbre(1.0, 0.5, 0.33, 0.25, 0.2, 0.16);
+
+    /** Samples in one cycle of the wavetable. */
+    public static final int TABLE_SIZE = 2048;
+
+    private final double[] harmonics;
+
+    public Timbre(double... harmonics) {
+        if (harmonics.length == 0) {
+            throw new IllegalArgumentException("A timbre needs at least one harmonic.");
+        }
+        this.harmonics = harmonics.clone();
+    }
+
+    /**
+     * Renders one cycle of the wave, scaled so its loudest sample is 1.
+     * The table has one extra sample at the end equal to the first one,
+     * so it can be read with interpolation without wrapping.
+     */
+    public float[] renderTable() {
+        float[] table = new float[TABLE_SIZE + 1];
+        double peak = 0;
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            double phase = 2 * Math.PI * i / TABLE_SIZE;
+            double sample = 0;
+            for (int h = 0; h < harmonics.length; h++) {
+                sample += harmonics[h] * Math.sin(phase * (h + 1));
+            }
+            table[i] = (float) sample;
+            peak = Math.max(peak, Math.abs(sample));
+        }
+        if (peak > 0) {
+            for (int i = 0; i < TABLE_SIZE; i++) {
+                table[i] /= (float) peak;
+            }
+        }
+        table[TABLE_SIZE] = table[0];
+        return table;
+    }
+
+    /**
+     * Returns how many harmonics the timbre has.
+     */
+    public int getHarmonicCount() {
+        return harmonics.length;
+    }
+}
@@ -0,0 +1,70 @@
+package com.memorytiles.memorytilesgame.audio;
+
+/**
+ * The ToneSynth class renders musical notes into clips for the mixer,
+ * so the game does not need a sound file for every note. The timbre is
+ * rendered into a single-cycle wavetable once, and each note reads that
+ * table at its own pitch and multiplies it by the envelope, which is also
+ * rendered once, so a whole bank of notes takes a few milliseconds.
+ * Pitches are MIDI note numbers, where 60 is middle C and 69 is A 440 Hz.
+ */
+public class ToneSynth {
+    private final float[] table;
+    private final float[] levels;
+
+    /**
+     * Creates a synth for notes of the given length in seconds, played at
+     * the given volume from 0 to 1.
+     */
+    public ToneSynth(Timbre timbre, Envelope envelope, double length, double volume) {
+        if (length <= 0 || volume <= 0 || volume > 1) {
+            throw new IllegalArgumentException("Length must be positive and volume between 0 and 1.");
+        }
+        this.table = timbre.renderTable();
+        this.levels = new float[(int) (length * PcmClip.SAMPLE_RATE)];
+        for (int i = 0; i < levels.length; i++) {
+            levels[i] = (float) (envelope.levelAt(i / (double) PcmClip.SAMPLE_RATE, length) * volume * Short.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Returns the frequency in Hz of a MIDI note number.
+     */
+    public static double frequency(int midiNote) {
+        return 440.0 * Math.pow(2, (midiNote - 69) / 12.0);
+    }
+
+    /**
+     * Renders one note as a stereo clip in the mixer's format.
+     */
+    public PcmClip render(String name, int midiNote) {
+        int frames = levels.length;
+        short[] samples = new short[frames * 2];
+        double step = frequency(midiNote) * Timbre.TABLE_SIZE / PcmClip.SAMPLE_RATE;
+        double phase = 0;
+        for (int i = 0; i < frames; i++) {
+            int index = (int) phase;
+            double frac = phase - index;
+            double wave = table[index] + (table[index + 1] - table[index]) * frac;
+            short sample = (short) (wave * levels[i]);
+            samples[i * 2] = sample;
+            samples[i * 2 + 1] = sample;
+            phase += step;
+            if (phase >= Timbre.TABLE_SIZE) {
+                phase -= Timbre.TABLE_SIZE;
+            }
+        }
+        return new PcmClip(name, samples);
+    }
+
+    /**
+     * Renders count notes going up in semitones from the given MIDI note.
+     */
+    public PcmClip[] renderBank(int lowestNote, int count) {
+        PcmClip[] clips = new PcmClip[count];
+        for (int i = 0; i < count; i++) {
+            clips[i] = render("tone" + i, lowestNote + i);
+        }
+        return clips;
+    }
+}
@@ -0,0 +1,189 @@
+package com.memorytiles.memorytilesgame.broadcast;
+
+import java.util.Arrays;
+
+/**
+ * The BoardState class is what a spectator sees of a game: the color of
+ * every tile, the score, lives, level and status message. The broadcaster
+ * keeps one as the live state, and each viewer rebuilds its own by
+ * applying the frames it receives.
+ *
+ * Frame format, numbers as variable length ints:
+ * <pre>
+ * delta     type=1, seq, op count, ops
+ * snapshot  type=2, seq, rows, cols, score, lives, level, status byte,
+ *           then runs of (run length, color byte) covering every tile
+ * ops       TILE tile color, RESET, SCORE n, LIVES n, LEVEL n, STATUS byte
+ * </pre>
+ */
+public class BoardState {
+    static final int FRAME_DELTA = 1;
+    static final int FRAME_SNAPSHOT = 2;
+
+    static final int OP_TILE = 1;
+    static final int OP_RESET = 2;
+    static final int OP_SCORE = 3;
+    static final int OP_LIVES = 4;
+    static final int OP_LEVEL = 5;
+    static final int OP_STATUS = 6;
+
+    /** Color of a tile that is not lit. Flash colors are 0 to Sequence.COLOR_COUNT - 1. */
+    public static final int COLOR_NONE = 0xFF;
+    /** Color of a tile the player clicked by mistake. */
+    public static final int COLOR_ERROR = 0xFE;
+
+    public static final int STATUS_NONE = 0;
+    public static final int STATUS_WATCH = 1;
+    public static final int STATUS_REPEAT = 2;
+    public static final int STATUS_CORRECT = 3;
+    public static final int STATUS_TRY_AGAIN = 4;
+    public static final int STATUS_GAME_OVER = 5;
+
+    private int rows;
+    private int cols;
+    private byte[] tiles;
+    private int score;
+    private int lives;
+    private int level;
+    private int status = STATUS_NONE;
+    private long seq;
+    private final ByteReader in = new ByteReader();
+
+    public BoardState(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.tiles = new byte[rows * cols];
+        Arrays.fill(tiles, (byte) COLOR_NONE);
+    }
+
+    /**
+     * Applies a delta or snapshot frame. Deltas that are not newer than
+     * the state, which can happen right after a snapshot, are skipped.
+     * Returns false if the frame was skipped.
+     */
+    public boolean apply(byte[] frame) {
+        in.reset(frame);
+        int type = in.readByte();
+        long frameSeq = in.readVarLong();
+        if (type == FRAME_SNAPSHOT) {
+            readSnapshot();
+            seq = frameSeq;
+            return true;
+        }
+        if (frameSeq <= seq) {
+            return false;
+        }
+        int ops = in.readVarInt();
+        for (int i = 0; i < ops; i++) {
+            switch (in.readByte()) {
+                case OP_TILE -> {
+                    int tile = in.readVarInt();
+                    tiles[tile] = (byte) in.readByte();
+                }
+                case OP_RESET -> Arrays.fill(tiles, (byte) COLOR_NONE);
+                case OP_SCORE -> score = in.readVarInt();
+                case OP_LIVES -> lives = in.readVarInt();
+                case OP_LEVEL -> level = in.readVarInt();
+                case OP_STATUS -> status = in.readByte();
+                default -> throw new IllegalArgumentException("Unknown delta operation in frame " + frameSeq);
+            }
+        }
+        seq = frameSeq;
+        return true;
+    }
+
+    /**
+     * Encodes the whole state as a snapshot frame. Runs of tiles with the
+     * same color are written once, so a quiet board takes a few bytes.
+     */
+    public byte[] encodeSnapshot() {
+        ByteWriter out = new ByteWriter(32);
+        out.writeByte(FRAME_SNAPSHOT);
+        out.writeVarLong(seq);
+        out.writeVarInt(rows);
+        out.writeVarInt(cols);
+        out.writeVarInt(score);
+        out.writeVarInt(lives);
+        out.writeVarInt(level);
+        out.writeByte(status);
+        int i = 0;
+        while (i < tiles.length) {
+            int run = 1;
+            while (i + run < tiles.length && tiles[i + run] == tiles[i]) {
+                run++;
+            }
+            out.writeVarInt(run);
+            out.writeByte(tiles[i]);
+            i += run;
+        }
+        return out.toByteArray();
+    }
+
+    private void readSnapshot() {
+        int newRows = in.readVarInt();
+        int newCols = in.readVarInt();
+        if (newRows != rows || newCols != cols) {
+            rows = newRows;
+            cols = newCols;
+            tiles = new byte[rows * cols];
+        }
+        score = in.readVarInt();
+        lives = in.readVarInt();
+        level = in.readVarInt();
+        status = in.readByte();
+        int i = 0;
+        while (i < tiles.length) {
+            int run = in.readVarInt();
+            byte color = (byte) in.readByte();
+            Arrays.fill(tiles, i, i + run, color);
+            i += run;
+        }
+    }
+
+    /**
+     * Returns true if the other state shows exactly the same board.
+     */
+    public boolean sameAs(BoardState other) {
+        return rows == other.rows && cols == other.cols && score == other.score
+                && lives == other.lives && level == other.level && status == other.status
+                && Arrays.equals(tiles, other.tiles);
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Returns the color of a tile: a flash color index, COLOR_NONE or COLOR_ERROR.
+     */
+    public int getTileColor(int tile) {
+        return tiles[tile] & 0xFF;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getLives() {
+        return lives;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the number of the last frame applied.
+     */
+    public long getSeq() {
+        return seq;
+    }
+}
@@ -0,0 +1,86 @@
+package com.memorytiles.memorytilesgame.broadcast;
+
+import com.memorytiles.memorytilesgame.engine.GameEngine;
+import com.memorytiles.memorytilesgame.engine.GameListener;
+
+/**
+ * The BroadcastListener class follows the engine and publishes what the
+ * player sees as deltas, one per game event. It shows the board the same
+ * way the UI does: a wrong tile stays red until the next level starts.
+ * The encoder is reused, so following a game allocates only the frames.
+ */
+public class BroadcastListener implements GameListener {
+    private final Broadcaster broadcaster;
+    private final DeltaEncoder delta = new DeltaEncoder();
+    private GameEngine engine;
+
+    public BroadcastListener(Broadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    /**
+     * Sets the engine being followed. Must be called before the engine starts.
+     */
+    public void attach(GameEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Sends a clean board with the level, score and lives, which after a
+     * restart are different from the last game's.
+     */
+    @Override
+    public void onLevelStarted(int level) {
+        delta.resetTiles();
+        delta.level(level);
+        delta.score(engine.getScoreHelper().getScore());
+        delta.lives(engine.getLives());
+        delta.status(BoardState.STATUS_WATCH);
+        broadcaster.publish(delta);
+    }
+
+    @Override
+    public void onStepShown(int tile, int color, int note) {
+        delta.tile(tile, color);
+        broadcaster.publish(delta);
+    }
+
+    @Override
+    public void onStepHidden(int tile) {
+        delta.tile(tile, BoardState.COLOR_NONE);
+        broadcaster.publish(delta);
+    }
+
+    @Override
+    public void onSequenceFinished() {
+        delta.status(BoardState.STATUS_REPEAT);
+        broadcaster.publish(delta);
+    }
+
+    @Override
+    public void onCorrectClick(int tile, int color, int note) {
+        delta.tile(tile, color);
+        delta.score(engine.getScoreHelper().getScore());
+        broadcaster.publish(delta);
+    }
+
+    @Override
+    public void onClickFlashEnded(int tile) {
+        delta.tile(tile, BoardState.COLOR_NONE);
+        broadcaster.publish(delta);
+    }
+
+    @Override
+    public void onLevelComplete() {
+        delta.status(BoardState.STATUS_CORRECT);
+        broadcaster.publish(delta);
+    }
+
+    @Override
+    public void onWrongTile(int tile, int livesLeft) {
+        delta.tile(tile, BoardState.COLOR_ERROR);
+        delta.lives(livesLeft);
+        delta.status(livesLeft <= 0 ? BoardState.STATUS_GAME_OVER : BoardState.STATUS_TRY_AGAIN);
+        broadcaster.publish(delta);
+    }
+}
@@ -0,0 +1,286 @@
+package com.memorytiles.memorytilesgame.broadcast;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The Broadcaster class sends a game to local spectators. Every game event
+ * is published as one small delta frame, and each subscriber gets the
+ * frames through its own bounded queue, delivered on the executor only as
+ * fast as the subscriber asks for them. A viewer that falls behind so far
+ * that its queue fills up does not hold anything back: its queued frames
+ * are dropped and it is sent one snapshot of the current board instead,
+ * followed by the deltas after it. New viewers start with a snapshot too.
+ * Deltas are encoded into a reused buffer, and a frame is only allocated
+ * when someone is watching, so an unwatched game allocates nothing.
+ */
+public class Broadcaster implements Flow.Publisher<Frame> {
+    /** Default number of frames queued for one subscriber. */
+    public static final int DEFAULT_BUFFER_FRAMES = 64;
+
+    private final BoardState state;
+    private final Executor executor;
+    private final int bufferFrames;
+    private final CopyOnWriteArrayList<Viewer> viewers = new CopyOnWriteArrayList<>();
+    private final LongAdder coalesced = new LongAdder();
+    private final ByteWriter frameWriter = new ByteWriter(64);
+
+    private long seq;
+    private long publishedBytes;
+    private Frame snapshot;
+    private boolean closed;
+
+    public Broadcaster(int rows, int cols, Executor executor) {
+        this(rows, cols, executor, DEFAULT_BUFFER_FRAMES);
+    }
+
+    public Broadcaster(int rows, int cols, Executor executor, int bufferFrames) {
+        if (bufferFrames < 1) {
+            throw new IllegalArgumentException("bufferFrames must be at least 1");
+        }
+        this.state = new BoardState(rows, cols);
+        this.executor = executor;
+        this.bufferFrames = bufferFrames;
+    }
+
+    /**
+     * Publishes the changes in the delta to every subscriber and clears it.
+     * An empty delta is not sent.
+     */
+    public void publish(DeltaEncoder delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        synchronized (state) {
+            if (closed) {
+                delta.clear();
+                return;
+            }
+            frameWriter.clear();
+            delta.encodeTo(++seq, frameWriter);
+            state.apply(frameWriter.array());
+            publishedBytes += frameWriter.length();
+            if (!viewers.isEmpty()) {
+                Frame frame = new Frame(seq, false, frameWriter.toByteArray());
+                for (Viewer viewer : viewers) {
+                    viewer.offer(frame);
+                }
+            }
+        }
+        delta.clear();
+    }
+
+    /**
+     * Returns a snapshot of the current board. Snapshots are cached until
+     * the next delta, so many lagging viewers share one.
+     */
+    public Frame snapshot() {
+        synchronized (state) {
+            if (snapshot == null || snapshot.getSeq() != seq) {
+                snapshot = new Frame(seq, true, state.encodeSnapshot());
+            }
+            return snapshot;
+        }
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Frame> subscriber) {
+        Viewer viewer = new Viewer(subscriber);
+        boolean open;
+        synchronized (state) {
+            open = !closed;
+            if (open) {
+                viewers.add(viewer);
+            }
+        }
+        subscriber.onSubscribe(viewer);
+        if (!open) {
+            viewer.complete();
+        }
+    }
+
+    /**
+     * Stops publishing. Every subscriber gets what is still queued for it
+     * and then onComplete.
+     */
+    public void close() {
+        synchronized (state) {
+            closed = true;
+        }
+        for (Viewer viewer : viewers) {
+            viewer.complete();
+        }
+    }
+
+    /**
+     * Returns the number of deltas published so far.
+     */
+    public long getPublished() {
+        synchronized (state) {
+            return seq;
+        }
+    }
+
+    /**
+     * Returns the total size of the deltas published so far.
+     */
+    public long getPublishedBytes() {
+        synchronized (state) {
+            return publishedBytes;
+        }
+    }
+
+    /**
+     * Returns how many times a subscriber's queue overflowed and was
+     * replaced by a snapshot.
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    public int getSubscriberCount() {
+        return viewers.size();
+    }
+
+    /**
+     * One subscriber's queue and demand. Frames are offered under the
+     * broadcaster's lock and delivered by at most one drain at a time
+     * on the executor.
+     */
+    private final class Viewer implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super Frame> subscriber;
+        private final ArrayDeque<Frame> queue = new ArrayDeque<>(bufferFrames);
+        private final AtomicInteger wip = new AtomicInteger();
+
+        // guarded by queue
+        private long demand;
+        private boolean needsSnapshot = true;
+        private boolean done;
+        private boolean cancelled;
+
+        // only used by the drain
+        private long lastSeq = -1;
+        private boolean completed;
+
+        Viewer(Flow.Subscriber<? super Frame> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        void offer(Frame frame) {
+            synchronized (queue) {
+                if (cancelled || needsSnapshot) {
+                    // the snapshot still to be sent will include this frame
+                    return;
+                }
+                if (queue.size() == bufferFrames) {
+                    queue.clear();
+                    needsSnapshot = true;
+                    coalesced.increment();
+                } else {
+                    queue.add(frame);
+                }
+                if (demand == 0) {
+                    return;
+                }
+            }
+            schedule();
+        }
+
+        void complete() {
+            synchronized (queue) {
+                done = true;
+            }
+            schedule();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("request must be positive, was " + n));
+                return;
+            }
+            synchronized (queue) {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (queue) {
+                cancelled = true;
+                queue.clear();
+            }
+            viewers.remove(this);
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                drain();
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drain() {
+            while (true) {
+                Frame frame = null;
+                boolean sendSnapshot = false;
+                boolean finish = false;
+                synchronized (queue) {
+                    if (cancelled || completed) {
+                        return;
+                    }
+                    if (demand > 0 && needsSnapshot) {
+                        needsSnapshot = false;
+                        sendSnapshot = true;
+                    } else if (demand > 0) {
+                        frame = queue.poll();
+                        while (frame != null && frame.getSeq() <= lastSeq) {
+                            frame = queue.poll();
+                        }
+                    }
+                    if (frame == null && !sendSnapshot) {
+                        finish = done && queue.isEmpty() && !needsSnapshot;
+                        if (!finish) {
+                            return;
+                        }
+                    } else if (demand != Long.MAX_VALUE) {
+                        demand--;
+                    }
+                }
+                if (finish) {
+                    completed = true;
+                    viewers.remove(this);
+                    subscriber.onComplete();
+                    return;
+                }
+                if (sendSnapshot) {
+                    // taken after the flag is cleared, so any delta queued
+                    // meanwhile is either in the snapshot or newer than it
+                    frame = snapshot();
+                }
+                lastSeq = frame.getSeq();
+                try {
+                    subscriber.onNext(frame);
+                } catch (RuntimeException e) {
+                    cancel();
+                    subscriber.onError(e);
+                    return;
+                }
+            }
+        }
+    }
+}
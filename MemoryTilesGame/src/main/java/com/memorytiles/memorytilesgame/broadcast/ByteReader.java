@@ -0,0 +1,38 @@
+package com.memorytiles.memorytilesgame.broadcast;
+
+/**
+ * Reads the bytes and variable length numbers written by ByteWriter.
+ * A reader can be reset and reused for the next frame.
+ */
+class ByteReader {
+    private byte[] data;
+    private int position;
+
+    /**
+     * Starts reading the given bytes from the beginning.
+     */
+    void reset(byte[] data) {
+        this.data = data;
+        position = 0;
+    }
+
+    int readByte() {
+        return data[position++] & 0xFF;
+    }
+
+    int readVarInt() {
+        return (int) readVarLong();
+    }
+
+    long readVarLong() {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
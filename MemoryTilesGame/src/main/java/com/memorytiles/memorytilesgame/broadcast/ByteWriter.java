@@ -0,0 +1,74 @@
+package com.memorytiles.memorytilesgame.broadcast;
+
+import java.util.Arrays;
+
+/**
+ * Small growable byte buffer with variable length number encoding,
+ * used to build frames.
+ */
+class ByteWriter {
+    private byte[] buffer;
+    private int length;
+
+    ByteWriter(int capacity) {
+        buffer = new byte[Math.max(16, capacity)];
+    }
+
+    void writeByte(int value) {
+        if (length == buffer.length) {
+            buffer = Arrays.copyOf(buffer, length * 2);
+        }
+        buffer[length++] = (byte) value;
+    }
+
+    void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        writeByte(value);
+    }
+
+    void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        writeByte((int) value);
+    }
+
+    void writeBytes(byte[] bytes, int count) {
+        if (length + count > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(length + count, buffer.length * 2));
+        }
+        System.arraycopy(bytes, 0, buffer, length, count);
+        length += count;
+    }
+
+    void clear() {
+        length = 0;
+    }
+
+    int length() {
+        return length;
+    }
+
+    /**
+     * Appends everything written to another writer.
+     */
+    void writeTo(ByteWriter out) {
+        out.writeBytes(buffer, length);
+    }
+
+    /**
+     * Returns the buffer itself, which holds length() bytes. It is only
+     * valid until the next write.
+     */
+    byte[] array() {
+        return buffer;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, length);
+    }
+}
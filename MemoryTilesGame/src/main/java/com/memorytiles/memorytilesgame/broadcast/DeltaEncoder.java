@@ -0,0 +1,73 @@
+package com.memorytiles.memorytilesgame.broadcast;
+
+/**
+ * The DeltaEncoder class collects the changes caused by one game event
+ * and encodes them as a delta frame. Numbers are written as variable
+ * length ints, so a typical delta (a tile flash and a new score) is about
+ * eight bytes. The buffer is reused for every delta.
+ */
+public class DeltaEncoder {
+    private final ByteWriter body = new ByteWriter(64);
+    private int ops;
+
+    /**
+     * Starts a new delta, dropping anything not yet published.
+     */
+    public void clear() {
+        body.clear();
+        ops = 0;
+    }
+
+    /**
+     * Returns true if no changes have been added since the last clear.
+     */
+    public boolean isEmpty() {
+        return ops == 0;
+    }
+
+    public void tile(int tile, int color) {
+        op(BoardState.OP_TILE);
+        body.writeVarInt(tile);
+        body.writeByte(color);
+    }
+
+    public void resetTiles() {
+        op(BoardState.OP_RESET);
+    }
+
+    public void score(int score) {
+        op(BoardState.OP_SCORE);
+        body.writeVarInt(score);
+    }
+
+    public void lives(int lives) {
+        op(BoardState.OP_LIVES);
+        body.writeVarInt(lives);
+    }
+
+    public void level(int level) {
+        op(BoardState.OP_LEVEL);
+        body.writeVarInt(level);
+    }
+
+    public void status(int status) {
+        op(BoardState.OP_STATUS);
+        body.writeByte(status);
+    }
+
+    /**
+     * Writes the delta as a frame: the frame type, its number and the
+     * operations added since the last clear.
+     */
+    void encodeTo(long seq, ByteWriter out) {
+        out.writeByte(BoardState.FRAME_DELTA);
+        out.writeVarLong(seq);
+        out.writeVarInt(ops);
+        body.writeTo(out);
+    }
+
+    private void op(int code) {
+        ops++;
+        body.writeByte(code);
+    }
+}
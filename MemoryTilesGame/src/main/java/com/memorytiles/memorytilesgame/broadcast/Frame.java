@@ -0,0 +1,35 @@
+package com.memorytiles.memorytilesgame.broadcast;
+
+/**
+ * The Frame class is one encoded message sent to spectators: either a
+ * delta with the changes from one game event, or a snapshot of the whole
+ * board. Frames are numbered in the order the changes happened, and a
+ * snapshot carries the number of the last delta it includes.
+ * The bytes are shared by every subscriber and must not be changed.
+ */
+public final class Frame {
+    private final long seq;
+    private final boolean snapshot;
+    private final byte[] data;
+
+    Frame(long seq, boolean snapshot, byte[] data) {
+        this.seq = seq;
+        this.snapshot = snapshot;
+        this.data = data;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Returns the encoded frame. The array is shared, not copied.
+     */
+    public byte[] getData() {
+        return data;
+    }
+}
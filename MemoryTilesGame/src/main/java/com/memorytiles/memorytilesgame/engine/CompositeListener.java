@@ -0,0 +1,84 @@
+package com.memorytiles.memorytilesgame.engine;
+
+/**
+ * The CompositeListener class passes every game event on to several
+ * listeners in order, so the UI and, for example, a journal can both
+ * follow the same engine.
+ */
+public class CompositeListener implements GameListener {
+    private final GameListener[] listeners;
+
+    public CompositeListener(GameListener... listeners) {
+        this.listeners = listeners.clone();
+    }
+
+    @Override
+    public void onLevelStarted(int level) {
+        for (GameListener listener : listeners) {
+            listener.onLevelStarted(level);
+        }
+    }
+
+    @Override
+    public void onStepShown(int tile, int color, int note) {
+        for (GameListener listener : listeners) {
+            listener.onStepShown(tile, color, note);
+        }
+    }
+
+    @Override
+    public void onStepHidden(int tile) {
+        for (GameListener listener : listeners) {
+            listener.onStepHidden(tile);
+        }
+    }
+
+    @Override
+    public void onSequenceFinished() {
+        for (GameListener listener : listeners) {
+            listener.onSequenceFinished();
+        }
+    }
+
+    @Override
+    public void onCorrectClick(int tile, int color, int note) {
+        for (GameListener listener : listeners) {
+            listener.onCorrectClick(tile, color, note);
+        }
+    }
+
+    @Override
+    public void onClickFlashEnded(int tile) {
+        for (GameListener listener : listeners) {
+            listener.onClickFlashEnded(tile);
+        }
+    }
+
+    @Override
+    public void onLevelComplete() {
+        for (GameListener listener : listeners) {
+            listener.onLevelComplete();
+        }
+    }
+
+    @Override
+    public void onWrongTile(int tile, int livesLeft) {
+        for (GameListener listener : listeners) {
+            listener.onWrongTile(tile, livesLeft);
+        }
+    }
+
+    @Override
+    public void onRetry() {
+        for (GameListener listener : listeners) {
+            listener.onRetry();
+        }
+    }
+
+    @Override
+    public void onGameOver(int score) {
+        for (GameListener listener : listeners) {
+            listener.onGameOver(score);
+        }
+    }
+}
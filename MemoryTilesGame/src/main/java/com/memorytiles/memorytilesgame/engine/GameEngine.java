@@ -0,0 +1,274 @@
+package com.memorytiles.memorytilesgame.engine;
+
+/**
+ * The GameEngine class holds the rules of the Memory Tiles game without
+ * depending on JavaFX. It builds the sequence, checks clicks, and keeps
+ * track of lives and score. All timing goes through a Scheduler, so the
+ * same engine runs in the UI with real time or headless with a virtual clock.
+ * The next level's step is generated while the player repeats the current
+ * sequence, so starting a level only appends a step that is ready.
+ */
+public class GameEngine {
+    /** The states the game can be in. */
+    public enum State {
+        IDLE, SHOWING_SEQUENCE, AWAITING_INPUT, LEVEL_COMPLETE, WRONG_TILE, GAME_OVER
+    }
+
+    public static final long FLASH_INTERVAL_NANOS = 1_000_000_000L;
+    public static final long FLASH_DURATION_NANOS = 500_000_000L;
+    public static final long CLICK_FLASH_NANOS = 300_000_000L;
+    public static final long NEXT_LEVEL_DELAY_NANOS = 1_000_000_000L;
+    public static final long WRONG_TILE_DELAY_NANOS = 1_500_000_000L;
+
+    private final int rows;
+    private final int cols;
+    private final int initialLives;
+    private final Scheduler scheduler;
+    private final SequenceGenerator generator;
+    private final GameListener listener;
+
+    private final Sequence sequence = new Sequence();
+    private final Sequence nextStep = new Sequence();
+    private final ScoreHelper scoreHelper;
+    private final SequencePlayer player;
+    private final Timer clickFlashTimer;
+    private final Timer nextLevelTimer;
+    private final Timer retryTimer;
+    private final Timer gameOverTimer;
+
+    private State state = State.IDLE;
+    private int lives;
+    private int level;
+    private int flashedTile = -1;
+    private long nextLevelDelayNanos = NEXT_LEVEL_DELAY_NANOS;
+    private long clickNanos;
+
+    public GameEngine(int rows, int cols, int lives, String playerName,
+                      Scheduler scheduler, SequenceGenerator generator, GameListener listener) {
+        this.rows = rows;
+        this.cols = cols;
+        this.initialLives = lives;
+        this.lives = lives;
+        this.scheduler = scheduler;
+        this.generator = generator;
+        this.listener = listener;
+        this.scoreHelper = new ScoreHelper(playerName);
+        this.player = new SequencePlayer(scheduler, sequence, listener, this::finishSequence);
+
+        clickFlashTimer = scheduler.newTimer(this::endClickFlash);
+        nextLevelTimer = scheduler.newTimer(this::startLevel);
+        retryTimer = scheduler.newTimer(this::retry);
+        gameOverTimer = scheduler.newTimer(() -> listener.onGameOver(scoreHelper.getScore()));
+    }
+
+    /**
+     * Starts the game with the first level.
+     */
+    public void start() {
+        startLevel();
+    }
+
+    /**
+     * Starts a new level by adding a step to the sequence and playing it.
+     * The step prepared during the last level is used if there is one.
+     */
+    public void startLevel() {
+        level++;
+        state = State.SHOWING_SEQUENCE;
+        if (nextStep.size() > 0) {
+            sequence.add(nextStep.tileAt(0), nextStep.colorAt(0), nextStep.noteAt(0));
+            nextStep.reset();
+        } else {
+            generator.addStep(sequence);
+        }
+        listener.onLevelStarted(level);
+        playSequence();
+    }
+
+    /**
+     * Generates the step for the next level ahead of time, while the
+     * player is still repeating this one.
+     */
+    private void prepareNextLevel() {
+        if (nextStep.size() == 0 && generator.hasNextStep()) {
+            generator.addStep(nextStep);
+        }
+    }
+
+    /**
+     * Handles a click on the tile with the given id. Clicks are ignored
+     * unless the engine is waiting for the player to repeat the sequence.
+     * Returns true if the click was correct.
+     */
+    public boolean click(int tile) {
+        return click(tile, scheduler.nanoTime());
+    }
+
+    /**
+     * Handles a click on the tile with the given id that happened at the
+     * given time on the scheduler's clock. Input that is queued before it
+     * reaches the engine passes the time it arrived, so listeners timing
+     * the player do not count the wait in the queue.
+     * Returns true if the click was correct.
+     */
+    public boolean click(int tile, long stampNanos) {
+        if (state != State.AWAITING_INPUT) {
+            return false;
+        }
+        clickNanos = stampNanos;
+        int step = sequence.getCurrentIndex();
+        if (sequence.verify(tile)) {
+            int color = sequence.colorAt(step);
+            int note = sequence.noteAt(step);
+            scoreHelper.increment();
+
+            endClickFlash();
+            flashedTile = tile;
+            clickFlashTimer.schedule(CLICK_FLASH_NANOS);
+            listener.onCorrectClick(tile, color, note);
+
+            if (sequence.isComplete()) {
+                state = State.LEVEL_COMPLETE;
+                listener.onLevelComplete();
+                nextLevelTimer.schedule(nextLevelDelayNanos);
+            }
+            return true;
+        }
+
+        if (lives > 0) {
+            lives--;
+        }
+        if (lives <= 0) {
+            state = State.GAME_OVER;
+            listener.onWrongTile(tile, lives);
+            gameOverTimer.schedule(WRONG_TILE_DELAY_NANOS);
+        } else {
+            state = State.WRONG_TILE;
+            listener.onWrongTile(tile, lives);
+            retryTimer.schedule(WRONG_TILE_DELAY_NANOS);
+        }
+        return false;
+    }
+
+    /**
+     * Starts a fresh game with the same settings, cancelling anything
+     * that was still scheduled from the last one.
+     */
+    public void restart() {
+        stop();
+        sequence.reset();
+        nextStep.reset();
+        generator.reset();
+        scoreHelper.reset();
+        lives = initialLives;
+        level = 0;
+        flashedTile = -1;
+        startLevel();
+    }
+
+    /**
+     * Stops the game, cancelling the sequence playback and every timer
+     * that is still scheduled, so no more events are sent.
+     */
+    public void stop() {
+        cancelTimers();
+        flashedTile = -1;
+        state = State.IDLE;
+    }
+
+    /**
+     * Plays the sequence, and tells the listener once it has finished.
+     */
+    private void playSequence() {
+        player.play();
+    }
+
+    private void finishSequence() {
+        state = State.AWAITING_INPUT;
+        listener.onSequenceFinished();
+        prepareNextLevel();
+    }
+
+    private void retry() {
+        state = State.AWAITING_INPUT;
+        listener.onRetry();
+    }
+
+    private void endClickFlash() {
+        if (flashedTile >= 0) {
+            clickFlashTimer.cancel();
+            int tile = flashedTile;
+            flashedTile = -1;
+            listener.onClickFlashEnded(tile);
+        }
+    }
+
+    private void cancelTimers() {
+        player.cancel();
+        clickFlashTimer.cancel();
+        nextLevelTimer.cancel();
+        retryTimer.cancel();
+        gameOverTimer.cancel();
+    }
+
+    /**
+     * Sets the pause between completing a level and the start of the next.
+     */
+    public void setNextLevelDelay(long nanos) {
+        if (nanos < 0) {
+            throw new IllegalArgumentException("The delay cannot be negative.");
+        }
+        nextLevelDelayNanos = nanos;
+    }
+
+    public long getNextLevelDelay() {
+        return nextLevelDelayNanos;
+    }
+
+    /**
+     * Returns the time of the last click handled, on the scheduler's clock.
+     */
+    public long getClickTime() {
+        return clickNanos;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public int getLives() {
+        return lives;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Returns the player that plays the sequence, for pausing it or
+     * changing its tempo.
+     */
+    public SequencePlayer getPlayer() {
+        return player;
+    }
+
+    public SequenceGenerator getGenerator() {
+        return generator;
+    }
+
+    public Sequence getSequence() {
+        return sequence;
+    }
+
+    public ScoreHelper getScoreHelper() {
+        return scoreHelper;
+    }
+}
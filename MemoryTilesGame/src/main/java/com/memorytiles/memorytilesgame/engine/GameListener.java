@@ -0,0 +1,70 @@
+package com.memorytiles.memorytilesgame.engine;
+
+/**
+ * The GameListener interface is notified by the GameEngine when something
+ * happens in the game. The JavaFX UI implements it to update the board,
+ * labels and sounds. All methods do nothing by default, so headless users
+ * only override what they need.
+ */
+public interface GameListener {
+
+    /**
+     * Called when a new level starts, before the sequence is played.
+     */
+    default void onLevelStarted(int level) {
+    }
+
+    /**
+     * Called when a step of the sequence is shown to the player.
+     */
+    default void onStepShown(int tile, int color, int note) {
+    }
+
+    /**
+     * Called when a shown step should be hidden again.
+     */
+    default void onStepHidden(int tile) {
+    }
+
+    /**
+     * Called after the whole sequence was played and the player should repeat it.
+     */
+    default void onSequenceFinished() {
+    }
+
+    /**
+     * Called when the player clicked the right tile.
+     */
+    default void onCorrectClick(int tile, int color, int note) {
+    }
+
+    /**
+     * Called when the flash of a correctly clicked tile should end.
+     */
+    default void onClickFlashEnded(int tile) {
+    }
+
+    /**
+     * Called when the player repeated the whole sequence.
+     */
+    default void onLevelComplete() {
+    }
+
+    /**
+     * Called when the player clicked a wrong tile, with the lives left.
+     */
+    default void onWrongTile(int tile, int livesLeft) {
+    }
+
+    /**
+     * Called when the player can try again after a wrong tile.
+     */
+    default void onRetry() {
+    }
+
+    /**
+     * Called when the game is over and the final score is known.
+     */
+    default void onGameOver(int score) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.memorytiles.memorytilesgame.engine;
+
+/**
+ * The NoRepeatGenerator class never picks a tile that was one of the
+ * last k tiles in the sequence. With k = 1 it only avoids an immediate
+ * repetition of the last tile.
+ * The tiles that may be picked are kept at the front of an array, so a
+ * tile is chosen with one random number instead of retrying until a
+ * different tile comes up.
+ */
+public class NoRepeatGenerator extends RandomSequenceGenerator {
+    private final int[] pool;
+    private final int[] positions;
+    private final int[] recent;
+    private int available;
+    private int recentCount;
+    private int recentHead;
+
+    public NoRepeatGenerator(int tileCount, int k, long seed) {
+        super(seed);
+        if (tileCount < 2) {
+            throw new IllegalArgumentException("The board needs at least two tiles.");
+        }
+        pool = new int[tileCount];
+        positions = new int[tileCount];
+        recent = new int[Math.max(1, Math.min(k, tileCount - 1))];
+        resetTiles();
+    }
+
+    @Override
+    protected int nextTile() {
+        int tile = pool[random.nextInt(available)];
+        if (recentCount == recent.length) {
+            release(recent[recentHead]);
+        } else {
+            recentCount++;
+        }
+        recent[recentHead] = tile;
+        recentHead = (recentHead + 1) % recent.length;
+        block(tile);
+        return tile;
+    }
+
+    @Override
+    protected void resetTiles() {
+        for (int i = 0; i < pool.length; i++) {
+            pool[i] = i;
+            positions[i] = i;
+        }
+        available = pool.length;
+        recentCount = 0;
+        recentHead = 0;
+    }
+
+    /**
+     * Moves a tile out of the available part of the pool.
+     */
+    private void block(int tile) {
+        available--;
+        swap(positions[tile], available);
+    }
+
+    /**
+     * Moves a tile back into the available part of the pool.
+     */
+    private void release(int tile) {
+        swap(positions[tile], available);
+        available++;
+    }
+
+    private void swap(int i, int j) {
+        int a = pool[i];
+        int b = pool[j];
+        pool[i] = b;
+        pool[j] = a;
+        positions[b] = i;
+        positions[a] = j;
+    }
+}
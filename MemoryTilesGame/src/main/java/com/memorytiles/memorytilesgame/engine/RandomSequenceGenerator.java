@@ -0,0 +1,61 @@
+package com.memorytiles.memorytilesgame.engine;
+
+import java.util.SplittableRandom;
+
+/**
+ * The RandomSequenceGenerator class is the base of the seeded generators.
+ * It picks a random color and note index for every step, and leaves the choice
+ * of tile to the subclass. Each new game gets its own seed, drawn from
+ * the last game's random numbers, so games differ but any one of them
+ * can be played again from getSeed().
+ */
+public abstract class RandomSequenceGenerator implements SequenceGenerator {
+    protected SplittableRandom random;
+    private long seed;
+
+    protected RandomSequenceGenerator(long seed) {
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public void addStep(Sequence sequence) {
+        int tile = nextTile();
+        int color = random.nextInt(Sequence.COLOR_COUNT);
+        int note = random.nextInt(Sequence.NOTE_COUNT);
+        sequence.add(tile, color, note);
+    }
+
+    /**
+     * Returns the tile for the next step.
+     */
+    protected abstract int nextTile();
+
+    /**
+     * Starts a new game with a fresh seed taken from the random numbers.
+     */
+    @Override
+    public void reset() {
+        reseed(random.nextLong());
+    }
+
+    /**
+     * Starts over with the given seed, as if the generator had just been
+     * created with it.
+     */
+    public void reseed(long seed) {
+        this.seed = seed;
+        random = new SplittableRandom(seed);
+        resetTiles();
+    }
+
+    /**
+     * Forgets the tiles picked so far, for a new game.
+     */
+    protected abstract void resetTiles();
+
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -0,0 +1,20 @@
+package com.memorytiles.memorytilesgame.engine;
+
+/**
+ * The Scheduler interface gives the game engine a clock and delayed actions.
+ * The JavaFX game uses real time, while simulations and tests can use a
+ * virtual clock that runs as fast as the CPU allows.
+ */
+public interface Scheduler {
+
+    /**
+     * Returns the current time of this scheduler in nanoseconds.
+     */
+    long nanoTime();
+
+    /**
+     * Creates a reusable timer that runs the given action every time it fires.
+     *
+     */
+    Timer newTimer(Runnable action);
+}
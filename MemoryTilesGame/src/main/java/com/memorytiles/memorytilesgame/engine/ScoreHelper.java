@@ -1,4 +1,4 @@
-package com.memorytiles.memorytilesgame;
+package com.memorytiles.memorytilesgame.engine;
 
 /**
  * The ScoreHelper class manages the score and player name for the Memory Tiles game.
@@ -0,0 +1,136 @@
+package com.memorytiles.memorytilesgame.engine;
+
+import java.util.Arrays;
+
+/**
+ * The Sequence class stores the tiles the player has to repeat.
+ * Each step packs a tile id, a color index and a note index into one long,
+ * kept in a growable primitive array, and the class keeps track of how far
+ * the player has got in the current level. Checking a click is a single
+ * int compare with the tile expected at the current index.
+ */
+public class Sequence {
+    /** Number of flash colors a step can use. */
+    public static final int COLOR_COUNT = 14;
+    /**
+     * Number of note indexes a step can be given. The sound a step makes
+     * comes from its tile; the note index is still drawn and journalled so
+     * seeds and replay journals stay compatible, and a negative one marks
+     * a silent step.
+     */
+    public static final int NOTE_COUNT = 7;
+
+    private static final int COLOR_SHIFT = 32;
+    private static final int NOTE_SHIFT = 48;
+    private static final long MASK_16 = 0xFFFFL;
+
+    private long[] steps = new long[16];
+    private int size = 0;
+    private int currentIndex = 0;
+    private int expectedTile = -1;
+
+    /**
+     * Adds a step to the end of the sequence and starts the player
+     * from the beginning again.
+     */
+    public void add(int tile, int color, int note) {
+        if (size == steps.length) {
+            steps = Arrays.copyOf(steps, size * 2);
+        }
+        steps[size++] = pack(tile, color, note);
+        rewind();
+    }
+
+    /**
+     * Checks if the clicked tile matches the expected tile in the sequence,
+     * and moves on to the next step if it does.
+     *
+     */
+    public boolean verify(int tile) {
+        if (tile != expectedTile) {
+            return false;
+        }
+        currentIndex++;
+        expectedTile = currentIndex < size ? (int) steps[currentIndex] : -1;
+        return true;
+    }
+
+    /**
+     * Checks whether the player has repeated the whole sequence.
+     */
+    public boolean isComplete() {
+        return currentIndex >= size;
+    }
+
+    /**
+     * Starts the player from the first step again, keeping the steps.
+     */
+    public void rewind() {
+        currentIndex = 0;
+        expectedTile = size == 0 ? -1 : tileAt(0);
+    }
+
+    /**
+     * Clears all steps and resets the sequence index.
+     * The backing array is kept for the next game.
+     */
+    public void reset() {
+        size = 0;
+        currentIndex = 0;
+        expectedTile = -1;
+    }
+
+    /**
+     * Returns the number of steps in the sequence.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the index of the step the player has to click next.
+     */
+    public int getCurrentIndex() {
+        return currentIndex;
+    }
+
+    /**
+     * Returns the tile the player has to click next, or -1 if there is none.
+     */
+    public int getExpectedTile() {
+        return expectedTile;
+    }
+
+    /**
+     * Returns the last tile added to the sequence, or -1 if it is empty.
+     */
+    public int lastTile() {
+        return size == 0 ? -1 : tileAt(size - 1);
+    }
+
+    public int tileAt(int index) {
+        return (int) steps[index];
+    }
+
+    public int colorAt(int index) {
+        return (int) ((steps[index] >>> COLOR_SHIFT) & MASK_16);
+    }
+
+    /**
+     * Returns the note index of a step. It is signed, so a silent step's
+     * negative note reads back as negative.
+     */
+    public int noteAt(int index) {
+        return (short) (steps[index] >>> NOTE_SHIFT);
+    }
+
+    /**
+     * Packs a step into a long: the tile id in the low 32 bits,
+     * then 16 bits each for the color and the note, which is signed.
+     */
+    private static long pack(int tile, int color, int note) {
+        return (tile & 0xFFFFFFFFL)
+                | ((color & MASK_16) << COLOR_SHIFT)
+                | ((note & MASK_16) << NOTE_SHIFT);
+    }
+}
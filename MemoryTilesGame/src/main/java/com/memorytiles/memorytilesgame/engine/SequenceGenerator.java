@@ -0,0 +1,35 @@
+package com.memorytiles.memorytilesgame.engine;
+
+/**
+ * The SequenceGenerator interface decides which tile, color and note
+ * are added to the sequence at the start of each level. Generators are
+ * seeded, so the same seed always produces the same game.
+ */
+public interface SequenceGenerator {
+
+    /**
+     * Adds the next step to the given sequence.
+     *
+     */
+    void addStep(Sequence sequence);
+
+    /**
+     * Returns true if there is another step to add. Generators that make
+     * up steps always have one.
+     */
+    default boolean hasNextStep() {
+        return true;
+    }
+
+    /**
+     * Forgets the steps generated so far, for a new game. Seeded
+     * generators also move on to a new seed for it.
+     */
+    void reset();
+
+    /**
+     * Returns the seed of the current game: a new generator of the same
+     * kind created with this seed generates the same steps.
+     */
+    long getSeed();
+}
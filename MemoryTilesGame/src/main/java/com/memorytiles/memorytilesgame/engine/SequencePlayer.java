@@ -0,0 +1,128 @@
+package com.memorytiles.memorytilesgame.engine;
+
+/**
+ * The SequencePlayer class plays the sequence to the player one step at a time.
+ * It keeps a single reusable Timer and only ever schedules the next flash or
+ * unflash, so memory stays the same however long the sequence gets.
+ * Playback can be cancelled, paused and resumed, and its tempo changed.
+ */
+public class SequencePlayer {
+    private final Scheduler scheduler;
+    private final Sequence sequence;
+    private final GameListener listener;
+    private final Runnable onFinished;
+    private final Timer timer;
+
+    private int index;
+    private boolean showing;
+    private boolean playing;
+    private boolean paused;
+    private long dueAt;
+    private long remaining;
+    private double tempo = 1.0;
+
+    public SequencePlayer(Scheduler scheduler, Sequence sequence, GameListener listener, Runnable onFinished) {
+        this.scheduler = scheduler;
+        this.sequence = sequence;
+        this.listener = listener;
+        this.onFinished = onFinished;
+        this.timer = scheduler.newTimer(this::tick);
+    }
+
+    /**
+     * Plays the sequence from the first step. Anything still playing is cancelled.
+     */
+    public void play() {
+        timer.cancel();
+        index = 0;
+        showing = false;
+        playing = true;
+        paused = false;
+        scheduleIn(0);
+    }
+
+    /**
+     * Stops playback. The current step is hidden and the finish action does not run.
+     */
+    public void cancel() {
+        timer.cancel();
+        if (playing && showing) {
+            listener.onStepHidden(sequence.tileAt(index));
+        }
+        showing = false;
+        playing = false;
+        paused = false;
+    }
+
+    /**
+     * Pauses playback, remembering how long was left until the next step.
+     */
+    public void pause() {
+        if (playing && !paused) {
+            remaining = Math.max(0, dueAt - scheduler.nanoTime());
+            timer.cancel();
+            paused = true;
+        }
+    }
+
+    /**
+     * Continues playback after a pause.
+     */
+    public void resume() {
+        if (playing && paused) {
+            paused = false;
+            scheduleIn(remaining);
+        }
+    }
+
+    /**
+     * Sets the playback speed, where 1.0 is normal and 2.0 is twice as fast.
+     * The new tempo is used from the next step on.
+     */
+    public void setTempo(double tempo) {
+        if (tempo <= 0) {
+            throw new IllegalArgumentException("Tempo must be positive.");
+        }
+        this.tempo = tempo;
+    }
+
+    public double getTempo() {
+        return tempo;
+    }
+
+    public boolean isPlaying() {
+        return playing;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Shows or hides the current step, then schedules the next one.
+     */
+    private void tick() {
+        if (showing) {
+            listener.onStepHidden(sequence.tileAt(index));
+            showing = false;
+            index++;
+            scheduleIn(scaled(GameEngine.FLASH_INTERVAL_NANOS - GameEngine.FLASH_DURATION_NANOS));
+        } else if (index < sequence.size()) {
+            listener.onStepShown(sequence.tileAt(index), sequence.colorAt(index), sequence.noteAt(index));
+            showing = true;
+            scheduleIn(scaled(GameEngine.FLASH_DURATION_NANOS));
+        } else {
+            playing = false;
+            onFinished.run();
+        }
+    }
+
+    private void scheduleIn(long delayNanos) {
+        dueAt = scheduler.nanoTime() + delayNanos;
+        timer.schedule(delayNanos);
+    }
+
+    private long scaled(long nanos) {
+        return (long) (nanos / tempo);
+    }
+}
@@ -0,0 +1,81 @@
+package com.memorytiles.memorytilesgame.engine;
+
+/**
+ * The SpreadGenerator class makes the sequence jump around the board:
+ * each tile is at least a given number of rows or columns away from the
+ * last one. The tiles that are far enough away are everything outside a
+ * square around the last tile, so the next tile is found by counting
+ * straight into that region with one random number.
+ * If the board is too small for the distance, any tile except the last
+ * one may be picked.
+ */
+public class SpreadGenerator extends RandomSequenceGenerator {
+    private final int rows;
+    private final int cols;
+    private final int distance;
+    private int last = -1;
+
+    public SpreadGenerator(int rows, int cols, int distance, long seed) {
+        super(seed);
+        if (rows * cols < 2) {
+            throw new IllegalArgumentException("The board needs at least two tiles.");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.distance = Math.max(1, distance);
+    }
+
+    @Override
+    protected int nextTile() {
+        int tile;
+        if (last < 0) {
+            tile = random.nextInt(rows * cols);
+        } else {
+            tile = pickOutside(last / cols, last % cols, distance);
+            if (tile < 0) {
+                tile = pickOutside(last / cols, last % cols, 1);
+            }
+        }
+        last = tile;
+        return tile;
+    }
+
+    /**
+     * Picks a random tile outside the square of tiles closer than d to
+     * (row, col). Returns -1 if there is no such tile.
+     */
+    private int pickOutside(int row, int col, int d) {
+        int top = Math.max(0, row - d + 1);
+        int bottom = Math.min(rows - 1, row + d - 1);
+        int left = Math.max(0, col - d + 1);
+        int right = Math.min(cols - 1, col + d - 1);
+        int bandRows = bottom - top + 1;
+        int bandWidth = cols - (right - left + 1);
+
+        int above = top * cols;
+        int band = bandRows * bandWidth;
+        int below = (rows - bottom - 1) * cols;
+        int count = above + band + below;
+        if (count == 0) {
+            return -1;
+        }
+
+        int index = random.nextInt(count);
+        if (index < above) {
+            return index;
+        }
+        index -= above;
+        if (index < band) {
+            int r = top + index / bandWidth;
+            int c = index % bandWidth;
+            return r * cols + (c < left ? c : c + (right - left + 1));
+        }
+        index -= band;
+        return (bottom + 1) * cols + index;
+    }
+
+    @Override
+    protected void resetTiles() {
+        last = -1;
+    }
+}
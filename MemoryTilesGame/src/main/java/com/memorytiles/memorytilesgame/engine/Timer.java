@@ -0,0 +1,24 @@
+package com.memorytiles.memorytilesgame.engine;
+
+/**
+ * The Timer interface is a reusable delayed action created by a Scheduler.
+ * Scheduling a timer that is already pending restarts it with the new delay.
+ */
+public interface Timer {
+
+    /**
+     * Fires the timer's action after the given delay in nanoseconds.
+     *
+     */
+    void schedule(long delayNanos);
+
+    /**
+     * Stops the timer if it is pending. The action will not run.
+     */
+    void cancel();
+
+    /**
+     * Returns true if the timer has been scheduled and has not fired yet.
+     */
+    boolean isPending();
+}
@@ -0,0 +1,117 @@
+package com.memorytiles.memorytilesgame.engine;
+
+import java.util.PriorityQueue;
+
+/**
+ * The VirtualScheduler class is a Scheduler driven by a virtual clock.
+ * Time only moves when advanceBy or runUntilIdle is called, so the game
+ * engine can be run headless and much faster than real time.
+ */
+public class VirtualScheduler implements Scheduler {
+    private final PriorityQueue<VirtualTimer> queue = new PriorityQueue<>((a, b) -> {
+        if (a.due != b.due) {
+            return Long.compare(a.due, b.due);
+        }
+        return Long.compare(a.order, b.order);
+    });
+
+    private long now;
+    private long nextOrder;
+
+    @Override
+    public long nanoTime() {
+        return now;
+    }
+
+    @Override
+    public Timer newTimer(Runnable action) {
+        return new VirtualTimer(action);
+    }
+
+    /**
+     * Moves the clock forward by the given number of nanoseconds and runs
+     * every timer that becomes due, in order.
+     *
+     */
+    public void advanceBy(long nanos) {
+        long target = now + nanos;
+        while (!queue.isEmpty() && queue.peek().due <= target) {
+            fire(queue.poll());
+        }
+        now = target;
+    }
+
+    /**
+     * Runs the next pending timer, moving the clock to its due time.
+     * Returns false if nothing was pending.
+     */
+    public boolean runNext() {
+        VirtualTimer timer = queue.poll();
+        if (timer == null) {
+            return false;
+        }
+        fire(timer);
+        return true;
+    }
+
+    /**
+     * Runs timers until none are pending. The engine only stops scheduling
+     * when it waits for player input or the game is over.
+     */
+    public void runUntilIdle() {
+        while (runNext()) {
+            // keep going
+        }
+    }
+
+    /**
+     * Returns true if any timer is waiting to fire.
+     */
+    public boolean hasPending() {
+        return !queue.isEmpty();
+    }
+
+    private void fire(VirtualTimer timer) {
+        now = Math.max(now, timer.due);
+        timer.pending = false;
+        timer.action.run();
+    }
+
+    /**
+     * A timer that waits in the scheduler's queue until the clock reaches it.
+     */
+    private class VirtualTimer implements Timer {
+        private final Runnable action;
+        private long due;
+        private long order;
+        private boolean pending;
+
+        VirtualTimer(Runnable action) {
+            this.action = action;
+        }
+
+        @Override
+        public void schedule(long delayNanos) {
+            if (pending) {
+                queue.remove(this);
+            }
+            due = now + delayNanos;
+            order = nextOrder++;
+            pending = true;
+            queue.add(this);
+        }
+
+        @Override
+        public void cancel() {
+            if (pending) {
+                queue.remove(this);
+                pending = false;
+            }
+        }
+
+        @Override
+        public boolean isPending() {
+            return pending;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.memorytiles.memorytilesgame.input;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The InputRing class is a fixed-size, lock-free queue of input events
+ * for one producer thread and one consumer thread. Each event is a tile
+ * id, where it came from and the System.nanoTime() it happened at, kept
+ * in parallel arrays, so adding and draining events allocates nothing.
+ * Events come out in the order they went in. When the ring is full,
+ * offer returns false and the event is not added; it is up to the caller
+ * to drain and try again rather than drop it.
+ */
+public class InputRing {
+    public static final int SOURCE_MOUSE = 0;
+    public static final int SOURCE_KEY = 1;
+
+    /**
+     * Receives the events drained from the ring.
+     */
+    public interface Handler {
+        void onInput(int tile, int source, long stampNanos);
+    }
+
+    private final int mask;
+    private final int[] tiles;
+    private final byte[] sources;
+    private final long[] stamps;
+    /** Next event to read. Only written by the consumer. */
+    private final AtomicLong head = new AtomicLong();
+    /** Next free slot. Only written by the producer. */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Creates a ring holding at least the given number of events,
+     * rounded up to a power of two.
+     */
+    public InputRing(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        mask = size - 1;
+        tiles = new int[size];
+        sources = new byte[size];
+        stamps = new long[size];
+    }
+
+    /**
+     * Adds an event. Returns false, without adding it, if the ring is full.
+     * Must only be called from the producer thread.
+     */
+    public boolean offer(int tile, int source, long stampNanos) {
+        long t = tail.get();
+        if (t - head.get() > mask) {
+            return false;
+        }
+        int i = (int) t & mask;
+        tiles[i] = tile;
+        sources[i] = (byte) source;
+        stamps[i] = stampNanos;
+        // publishes the slot to the consumer
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * Passes every event in the ring to the handler, oldest first, and
+     * returns how many there were. Events added while draining are left
+     * for the next drain. Must only be called from the consumer thread.
+     */
+    public int drain(Handler handler) {
+        long h = head.get();
+        long t = tail.get();
+        int count = (int) (t - h);
+        for (; h < t; h++) {
+            int i = (int) h & mask;
+            int tile = tiles[i];
+            int source = sources[i];
+            long stamp = stamps[i];
+            // frees the slot for the producer
+            head.lazySet(h + 1);
+            handler.onInput(tile, source, stamp);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of events waiting to be drained.
+     */
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,34 @@
+package com.memorytiles.memorytilesgame.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a click the engine has checked against the sequence.
+ */
+@Name("memorytiles.Click")
+@Label("Click Verification")
+@Category("Memory Tiles")
+@StackTrace(false)
+class ClickEvent extends Event {
+    @Label("Level")
+    int level;
+
+    @Label("Step")
+    int step;
+
+    @Label("Tile")
+    int tile;
+
+    @Label("Expected Tile")
+    int expectedTile;
+
+    @Label("Correct")
+    boolean correct;
+
+    @Label("Lives Left")
+    int livesLeft;
+}
@@ -0,0 +1,23 @@
+package com.memorytiles.memorytilesgame.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The Counter class is a metric that only goes up, such as the number of clicks.
+ * It can be incremented from any thread without locking.
+ */
+public class Counter {
+    private final LongAdder count = new LongAdder();
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void add(long amount) {
+        count.add(amount);
+    }
+
+    public long get() {
+        return count.sum();
+    }
+}
@@ -0,0 +1,25 @@
+package com.memorytiles.memorytilesgame.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event lasting while one step of the sequence is shown.
+ */
+@Name("memorytiles.Flash")
+@Label("Tile Flash")
+@Category("Memory Tiles")
+@StackTrace(false)
+class FlashEvent extends Event {
+    @Label("Tile")
+    int tile;
+
+    @Label("Color")
+    int color;
+
+    @Label("Note")
+    int note;
+}
@@ -0,0 +1,22 @@
+package com.memorytiles.memorytilesgame.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for the end of a game.
+ */
+@Name("memorytiles.GameOver")
+@Label("Game Over")
+@Category("Memory Tiles")
+@StackTrace(false)
+class GameOverEvent extends Event {
+    @Label("Level")
+    int level;
+
+    @Label("Score")
+    int score;
+}
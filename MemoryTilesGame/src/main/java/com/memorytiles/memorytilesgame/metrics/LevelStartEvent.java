@@ -0,0 +1,22 @@
+package com.memorytiles.memorytilesgame.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for the start of a level.
+ */
+@Name("memorytiles.LevelStart")
+@Label("Level Start")
+@Category("Memory Tiles")
+@StackTrace(false)
+class LevelStartEvent extends Event {
+    @Label("Level")
+    int level;
+
+    @Label("Sequence Length")
+    int sequenceLength;
+}
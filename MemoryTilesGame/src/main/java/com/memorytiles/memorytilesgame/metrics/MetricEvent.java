@@ -0,0 +1,26 @@
+package com.memorytiles.memorytilesgame.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+
+/**
+ * Periodic Flight Recorder event with the value of one metric from the MetricsRegistry.
+ */
+@Name("memorytiles.Metric")
+@Label("Metric")
+@Category("Memory Tiles")
+@Description("Value of one game metric")
+@Period("1 s")
+@StackTrace(false)
+class MetricEvent extends Event {
+    @Label("Name")
+    String name;
+
+    @Label("Value")
+    long value;
+}
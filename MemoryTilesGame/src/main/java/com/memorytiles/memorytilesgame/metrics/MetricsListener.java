@@ -0,0 +1,153 @@
+package com.memorytiles.memorytilesgame.metrics;
+
+import com.memorytiles.memorytilesgame.engine.GameEngine;
+import com.memorytiles.memorytilesgame.engine.GameListener;
+import com.memorytiles.memorytilesgame.engine.Sequence;
+import jdk.jfr.EventType;
+
+/**
+ * The MetricsListener class follows the engine and emits Flight Recorder
+ * events for level starts, sequence playback, flashes, click checks and
+ * game over, and counts them in a MetricsRegistry.
+ * Each event type is checked before an event is created, so when no
+ * recording is running the listener only bumps a few counters.
+ * The counters are shared by every listener on the same registry, but
+ * the sequence length gauge belongs to one engine, so each board of the
+ * multi-board mode registers its own.
+ */
+public class MetricsListener implements GameListener {
+    private static final EventType LEVEL_START = EventType.getEventType(LevelStartEvent.class);
+    private static final EventType PLAYBACK = EventType.getEventType(PlaybackEvent.class);
+    private static final EventType FLASH = EventType.getEventType(FlashEvent.class);
+    private static final EventType CLICK = EventType.getEventType(ClickEvent.class);
+    private static final EventType GAME_OVER = EventType.getEventType(GameOverEvent.class);
+
+    private final Counter levels;
+    private final Counter flashes;
+    private final Counter correctClicks;
+    private final Counter wrongClicks;
+    private final Counter games;
+    private GameEngine engine;
+    private PlaybackEvent playback;
+    private FlashEvent flash;
+
+    public MetricsListener(MetricsRegistry registry) {
+        this(registry, "game.sequence.length");
+    }
+
+    /**
+     * Creates a listener for one board of the multi-board mode, whose
+     * sequence length is reported as boards.&lt;board&gt;.sequence.length.
+     */
+    public MetricsListener(MetricsRegistry registry, int board) {
+        this(registry, "boards." + board + ".sequence.length");
+    }
+
+    private MetricsListener(MetricsRegistry registry, String lengthGauge) {
+        levels = registry.counter("game.levels");
+        flashes = registry.counter("game.flashes");
+        correctClicks = registry.counter("game.clicks.correct");
+        wrongClicks = registry.counter("game.clicks.wrong");
+        games = registry.counter("game.games");
+        registry.gauge(lengthGauge, () -> {
+            GameEngine current = engine;
+            return current == null ? 0 : current.getSequence().size();
+        });
+    }
+
+    /**
+     * Sets the engine being followed. Must be called before the engine starts.
+     *
+     */
+    public void attach(GameEngine engine) {
+        this.engine = engine;
+    }
+
+    @Override
+    public void onLevelStarted(int level) {
+        levels.increment();
+        int length = engine.getSequence().size();
+        if (LEVEL_START.isEnabled()) {
+            LevelStartEvent event = new LevelStartEvent();
+            event.level = level;
+            event.sequenceLength = length;
+            event.commit();
+        }
+        playback = null;
+        if (PLAYBACK.isEnabled()) {
+            playback = new PlaybackEvent();
+            playback.level = level;
+            playback.sequenceLength = length;
+            playback.begin();
+        }
+    }
+
+    @Override
+    public void onStepShown(int tile, int color, int note) {
+        flashes.increment();
+        flash = null;
+        if (FLASH.isEnabled()) {
+            flash = new FlashEvent();
+            flash.tile = tile;
+            flash.color = color;
+            flash.note = note;
+            flash.begin();
+        }
+    }
+
+    @Override
+    public void onStepHidden(int tile) {
+        if (flash != null) {
+            flash.commit();
+            flash = null;
+        }
+    }
+
+    @Override
+    public void onSequenceFinished() {
+        if (playback != null) {
+            playback.commit();
+            playback = null;
+        }
+    }
+
+    @Override
+    public void onCorrectClick(int tile, int color, int note) {
+        correctClicks.increment();
+        if (CLICK.isEnabled()) {
+            Sequence sequence = engine.getSequence();
+            commitClick(sequence.getCurrentIndex() - 1, tile, tile, true);
+        }
+    }
+
+    @Override
+    public void onWrongTile(int tile, int livesLeft) {
+        wrongClicks.increment();
+        if (CLICK.isEnabled()) {
+            Sequence sequence = engine.getSequence();
+            commitClick(sequence.getCurrentIndex(), tile, sequence.getExpectedTile(), false);
+        }
+    }
+
+    @Override
+    public void onGameOver(int score) {
+        games.increment();
+        if (GAME_OVER.isEnabled()) {
+            GameOverEvent event = new GameOverEvent();
+            event.level = engine.getLevel();
+            event.score = score;
+            event.commit();
+        }
+    }
+
+    private void commitClick(int step, int tile, int expectedTile, boolean correct) {
+        ClickEvent event = new ClickEvent();
+        event.level = engine.getLevel();
+        event.step = step;
+        event.tile = tile;
+        event.expectedTile = expectedTile;
+        event.correct = correct;
+        event.livesLeft = engine.getLives();
+        event.commit();
+    }
+}
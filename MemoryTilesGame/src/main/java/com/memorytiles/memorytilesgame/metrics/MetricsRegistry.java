@@ -0,0 +1,109 @@
+package com.memorytiles.memorytilesgame.metrics;
+
+import jdk.jfr.FlightRecorder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * The MetricsRegistry class keeps the game's counters, gauges and timings
+ * by name. Metrics are created once and then updated directly, so the
+ * registry itself is only looked at when a snapshot is taken.
+ * A snapshot can be written to a file, and while a flight recording is
+ * running every metric is also sent as a MetricEvent once a second.
+ */
+public class MetricsRegistry {
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private final Map<String, Timing> timings = new ConcurrentHashMap<>();
+    private boolean publishing;
+
+    /**
+     * Returns the registry shared by the whole game.
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns the counter with the given name, creating it if needed.
+     */
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, key -> new Counter());
+    }
+
+    /**
+     * Returns the timing with the given name, creating it if needed.
+     */
+    public Timing timing(String name) {
+        return timings.computeIfAbsent(name, key -> new Timing());
+    }
+
+    /**
+     * Registers a gauge that reads its value when a snapshot is taken.
+     * A gauge with the same name is replaced.
+     */
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * Returns the current value of every metric, sorted by name.
+     * Timings are split into count, total, average and max values.
+     */
+    public Map<String, Long> snapshot() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.get()));
+        gauges.forEach((name, gauge) -> values.put(name, gauge.getAsLong()));
+        timings.forEach((name, timing) -> {
+            values.put(name + ".count", timing.getCount());
+            values.put(name + ".total_ns", timing.getTotalNanos());
+            values.put(name + ".avg_ns", timing.getAverageNanos());
+            values.put(name + ".max_ns", timing.getMaxNanos());
+        });
+        return values;
+    }
+
+    /**
+     * Writes a snapshot to a text file, one "name value" line per metric.
+     */
+    public void export(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (Map.Entry<String, Long> entry : snapshot().entrySet()) {
+                writer.write(entry.getKey() + " " + entry.getValue());
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Sends a snapshot to Flight Recorder once a second while a recording
+     * is running. Does nothing if it was already called.
+     */
+    public synchronized void publishToFlightRecorder() {
+        if (publishing) {
+            return;
+        }
+        publishing = true;
+        FlightRecorder.addPeriodicEvent(MetricEvent.class, () -> {
+            for (Map.Entry<String, Long> entry : snapshot().entrySet()) {
+                MetricEvent event = new MetricEvent();
+                event.name = entry.getKey();
+                event.value = entry.getValue();
+                event.commit();
+            }
+        });
+    }
+}
@@ -0,0 +1,22 @@
+package com.memorytiles.memorytilesgame.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event lasting from the start to the end of a sequence playback.
+ */
+@Name("memorytiles.Playback")
+@Label("Sequence Playback")
+@Category("Memory Tiles")
+@StackTrace(false)
+class PlaybackEvent extends Event {
+    @Label("Level")
+    int level;
+
+    @Label("Sequence Length")
+    int sequenceLength;
+}
@@ -0,0 +1,71 @@
+package com.memorytiles.memorytilesgame.metrics;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * The StartupTimer class records when each startup phase was reached,
+ * in milliseconds since the JVM started, from entering main up to the
+ * first frame of the setup screen. The phases are also published as
+ * gauges in the default MetricsRegistry.
+ */
+public final class StartupTimer {
+    private static final int MAX_PHASES = 16;
+
+    private static final String[] names = new String[MAX_PHASES];
+    private static final long[] nanos = new long[MAX_PHASES];
+    private static int count;
+    private static long jvmStartNanos;
+
+    private StartupTimer() {
+    }
+
+    /**
+     * Records that the given phase has been reached. Phases after the
+     * first MAX_PHASES are ignored.
+     */
+    public static synchronized void mark(String phase) {
+        long now = System.nanoTime();
+        if (count == 0) {
+            long sinceStartMillis = System.currentTimeMillis()
+                    - ManagementFactory.getRuntimeMXBean().getStartTime();
+            jvmStartNanos = now - sinceStartMillis * 1_000_000L;
+        }
+        if (count == MAX_PHASES) {
+            return;
+        }
+        names[count] = phase;
+        nanos[count] = now;
+        int index = count++;
+        MetricsRegistry.getDefault().gauge("startup." + phase.replace(' ', '_') + "_ms",
+                () -> millisAt(index));
+    }
+
+    /**
+     * Returns the time of a phase in milliseconds since the JVM started,
+     * or -1 if it has not been reached.
+     */
+    public static synchronized long millis(String phase) {
+        for (int i = 0; i < count; i++) {
+            if (names[i].equals(phase)) {
+                return millisAt(i);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns every phase reached so far on one line, like
+     * "startup: main 80 ms, fx start 350 ms".
+     */
+    public static synchronized String getReport() {
+        StringBuilder report = new StringBuilder("startup:");
+        for (int i = 0; i < count; i++) {
+            report.append(i == 0 ? " " : ", ").append(names[i]).append(' ').append(millisAt(i)).append(" ms");
+        }
+        return report.toString();
+    }
+
+    private static synchronized long millisAt(int index) {
+        return (nanos[index] - jvmStartNanos) / 1_000_000L;
+    }
+}
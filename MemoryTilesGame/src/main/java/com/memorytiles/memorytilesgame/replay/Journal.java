@@ -0,0 +1,39 @@
+package com.memorytiles.memorytilesgame.replay;
+
+/**
+ * The Journal class holds the constants of the replay journal file format.
+ * A journal starts with a magic number and a version, followed by records.
+ * Every record starts with a one byte type and a timestamp in nanoseconds
+ * since the journal was opened:
+ * <pre>
+ * GAME_START   rows int, cols int, lives int, seed long, level delay long
+ * LEVEL_START  level int, tile int, color short, note short
+ * CLICK        tile int, correct byte
+ * GAME_OVER    score int
+ * READY        (no data)
+ * </pre>
+ * A zero type byte marks the end of the journal. The level delay is the
+ * pause between levels in nanoseconds; version 1 journals do not have it
+ * and were recorded with the default of one second. READY marks the
+ * moment the engine started waiting for clicks, after the sequence or
+ * after a wrong tile, so each click can be replayed relative to the
+ * event it answered; journals before version 3 do not have it.
+ */
+public final class Journal {
+    public static final int MAGIC = 0x4D544A31;
+    public static final int VERSION = 3;
+    public static final int HEADER_SIZE = 8;
+
+    public static final byte END = 0;
+    public static final byte GAME_START = 1;
+    public static final byte LEVEL_START = 2;
+    public static final byte CLICK = 3;
+    public static final byte GAME_OVER = 4;
+    public static final byte READY = 5;
+
+    /** The largest record, so a writer can check for space once. */
+    public static final int MAX_RECORD_SIZE = 1 + 8 + 4 + 4 + 4 + 8 + 8;
+
+    private Journal() {
+    }
+}
@@ -0,0 +1,99 @@
+package com.memorytiles.memorytilesgame.replay;
+
+import com.memorytiles.memorytilesgame.engine.GameEngine;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The JournalReader class reads the games recorded in a replay journal.
+ * The file is memory-mapped and parsed in one pass. Reading stops at the
+ * end marker, at the end of the file, or at a record cut off by a crash.
+ * Each click is timed from the event it answered: the last READY record,
+ * or the click before it. Journals without READY records time every
+ * click from the click before it, which replays them as recorded.
+ */
+public final class JournalReader {
+
+    private JournalReader() {
+    }
+
+    /**
+     * Reads every game in the given journal file.
+     *
+     */
+    public static List<RecordedGame> read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < Journal.HEADER_SIZE || buffer.getInt() != Journal.MAGIC) {
+                throw new IOException("Not a replay journal: " + file);
+            }
+            int version = buffer.getInt();
+            if (version < 1 || version > Journal.VERSION) {
+                throw new IOException("Unsupported journal version " + version + ": " + file);
+            }
+
+            List<RecordedGame> games = new ArrayList<>();
+            RecordedGame game = null;
+            long lastEventNanos = 0;
+            boolean ready = false;
+            try {
+                while (buffer.hasRemaining()) {
+                    byte type = buffer.get();
+                    if (type == Journal.END) {
+                        break;
+                    }
+                    long nanos = buffer.getLong();
+                    switch (type) {
+                        case Journal.GAME_START -> {
+                            game = new RecordedGame(buffer.getInt(), buffer.getInt(), buffer.getInt(),
+                                    buffer.getLong(), nanos);
+                            game.setNextLevelDelay(version >= 2 ? buffer.getLong() : GameEngine.NEXT_LEVEL_DELAY_NANOS);
+                            games.add(game);
+                            lastEventNanos = nanos;
+                            ready = false;
+                        }
+                        case Journal.LEVEL_START -> {
+                            buffer.getInt();
+                            int tile = buffer.getInt();
+                            int color = buffer.getShort();
+                            int note = buffer.getShort();
+                            if (game != null) {
+                                game.addStep(tile, color, note);
+                            }
+                        }
+                        case Journal.CLICK -> {
+                            int tile = buffer.getInt();
+                            boolean correct = buffer.get() != 0;
+                            if (game != null) {
+                                game.addClick(tile, correct, nanos, nanos - lastEventNanos, ready);
+                            }
+                            lastEventNanos = nanos;
+                            ready = false;
+                        }
+                        case Journal.GAME_OVER -> {
+                            int score = buffer.getInt();
+                            if (game != null) {
+                                game.setFinalScore(score);
+                            }
+                        }
+                        case Journal.READY -> {
+                            lastEventNanos = nanos;
+                            ready = true;
+                        }
+                        default -> throw new IOException("Corrupt journal record type " + type + ": " + file);
+                    }
+                }
+            } catch (BufferUnderflowException e) {
+                // The last record was cut off, keep everything before it.
+            }
+            return games;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.memorytiles.memorytilesgame.replay;
+
+import com.memorytiles.memorytilesgame.engine.GameEngine;
+import com.memorytiles.memorytilesgame.engine.GameListener;
+import com.memorytiles.memorytilesgame.engine.Scheduler;
+import com.memorytiles.memorytilesgame.engine.Sequence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The JournalWriter class records a game session into an append-only
+ * binary journal. It listens to the engine and writes each game start,
+ * level start with its new sequence step, click, game over and every time
+ * the engine starts waiting for clicks, with a nanosecond timestamp. Records go straight into a memory-mapped region
+ * of the file, so writing one is a few buffer puts and no system call.
+ */
+public class JournalWriter implements GameListener, Closeable {
+    private static final int CHUNK_SIZE = 4 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final Scheduler scheduler;
+    private final long startNanos;
+    private MappedByteBuffer buffer;
+    private long bufferStart;
+    private GameEngine engine;
+
+    public JournalWriter(Path file, Scheduler scheduler) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.scheduler = scheduler;
+        this.startNanos = scheduler.nanoTime();
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, CHUNK_SIZE);
+        buffer.putInt(Journal.MAGIC);
+        buffer.putInt(Journal.VERSION);
+    }
+
+    /**
+     * Sets the engine being recorded. Must be called before the engine starts.
+     *
+     */
+    public void attach(GameEngine engine) {
+        this.engine = engine;
+    }
+
+    @Override
+    public void onLevelStarted(int level) {
+        if (level == 1) {
+            if (!startRecord(Journal.GAME_START)) {
+                return;
+            }
+            buffer.putInt(engine.getRows());
+            buffer.putInt(engine.getCols());
+            buffer.putInt(engine.getLives());
+            buffer.putLong(engine.getGenerator().getSeed());
+            buffer.putLong(engine.getNextLevelDelay());
+        }
+        Sequence sequence = engine.getSequence();
+        int last = sequence.size() - 1;
+        if (!startRecord(Journal.LEVEL_START)) {
+            return;
+        }
+        buffer.putInt(level);
+        buffer.putInt(sequence.tileAt(last));
+        buffer.putShort((short) sequence.colorAt(last));
+        buffer.putShort((short) sequence.noteAt(last));
+    }
+
+    @Override
+    public void onSequenceFinished() {
+        startRecord(Journal.READY);
+    }
+
+    @Override
+    public void onRetry() {
+        startRecord(Journal.READY);
+    }
+
+    @Override
+    public void onCorrectClick(int tile, int color, int note) {
+        recordClick(tile, true);
+    }
+
+    @Override
+    public void onWrongTile(int tile, int livesLeft) {
+        recordClick(tile, false);
+    }
+
+    @Override
+    public void onGameOver(int score) {
+        if (!startRecord(Journal.GAME_OVER)) {
+            return;
+        }
+        buffer.putInt(score);
+    }
+
+    private void recordClick(int tile, boolean correct) {
+        if (!startRecord(Journal.CLICK)) {
+            return;
+        }
+        buffer.putInt(tile);
+        buffer.put(correct ? (byte) 1 : (byte) 0);
+    }
+
+    /**
+     * Makes room for a record and writes its type and timestamp.
+     * Returns false if the journal is no longer recording.
+     */
+    private boolean startRecord(byte type) {
+        if (buffer != null && buffer.remaining() < Journal.MAX_RECORD_SIZE + 1) {
+            remap();
+        }
+        if (buffer == null) {
+            return false;
+        }
+        buffer.put(type);
+        buffer.putLong(scheduler.nanoTime() - startNanos);
+        return true;
+    }
+
+    /**
+     * Maps the next chunk of the file, starting where the last one was full.
+     */
+    private void remap() {
+        try {
+            long position = bufferStart + buffer.position();
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, CHUNK_SIZE);
+            bufferStart = position;
+        } catch (IOException e) {
+            System.out.println("Replay journal could not grow, recording stopped.");
+            buffer = null;
+        }
+    }
+
+    /**
+     * Flushes the journal and cuts the file down to what was written.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        long end = bufferStart;
+        if (buffer != null) {
+            end += buffer.position();
+            buffer.force();
+            buffer = null;
+        }
+        try {
+            channel.truncate(end);
+        } catch (IOException e) {
+            // Some systems cannot shrink a mapped file. Readers stop at the
+            // zero bytes after the last record, so the journal is still valid.
+        }
+        channel.close();
+    }
+}
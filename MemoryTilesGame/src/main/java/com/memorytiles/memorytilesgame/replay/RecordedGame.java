@@ -0,0 +1,162 @@
+package com.memorytiles.memorytilesgame.replay;
+
+import com.memorytiles.memorytilesgame.engine.GameEngine;
+
+import java.util.Arrays;
+
+/**
+ * The RecordedGame class is one game read back from a replay journal:
+ * the settings, including the pause between levels, every sequence step,
+ * every click with its time, and the final score if the game was
+ * finished. Times are in nanoseconds since the game started.
+ */
+public class RecordedGame {
+    private final int rows;
+    private final int cols;
+    private final int lives;
+    private final long seed;
+    private final long startNanos;
+    private long nextLevelDelayNanos = GameEngine.NEXT_LEVEL_DELAY_NANOS;
+
+    private int[] stepTiles = new int[16];
+    private int[] stepColors = new int[16];
+    private int[] stepNotes = new int[16];
+    private int stepCount;
+
+    private int[] clickTiles = new int[64];
+    private long[] clickTimes = new long[64];
+    private long[] clickDelays = new long[64];
+    private boolean[] clickAfterReady = new boolean[64];
+    private boolean[] clickCorrect = new boolean[64];
+    private int clickCount;
+
+    private int finalScore = -1;
+
+    public RecordedGame(int rows, int cols, int lives, long seed, long startNanos) {
+        this.rows = rows;
+        this.cols = cols;
+        this.lives = lives;
+        this.seed = seed;
+        this.startNanos = startNanos;
+    }
+
+    void addStep(int tile, int color, int note) {
+        if (stepCount == stepTiles.length) {
+            stepTiles = Arrays.copyOf(stepTiles, stepCount * 2);
+            stepColors = Arrays.copyOf(stepColors, stepCount * 2);
+            stepNotes = Arrays.copyOf(stepNotes, stepCount * 2);
+        }
+        stepTiles[stepCount] = tile;
+        stepColors[stepCount] = color;
+        stepNotes[stepCount] = note;
+        stepCount++;
+    }
+
+    void addClick(int tile, boolean correct, long nanos, long delay, boolean afterReady) {
+        if (clickCount == clickTiles.length) {
+            clickTiles = Arrays.copyOf(clickTiles, clickCount * 2);
+            clickTimes = Arrays.copyOf(clickTimes, clickCount * 2);
+            clickDelays = Arrays.copyOf(clickDelays, clickCount * 2);
+            clickAfterReady = Arrays.copyOf(clickAfterReady, clickCount * 2);
+            clickCorrect = Arrays.copyOf(clickCorrect, clickCount * 2);
+        }
+        clickTiles[clickCount] = tile;
+        clickTimes[clickCount] = nanos - startNanos;
+        clickDelays[clickCount] = delay;
+        clickAfterReady[clickCount] = afterReady;
+        clickCorrect[clickCount] = correct;
+        clickCount++;
+    }
+
+    void setNextLevelDelay(long nanos) {
+        this.nextLevelDelayNanos = nanos;
+    }
+
+    void setFinalScore(int finalScore) {
+        this.finalScore = finalScore;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getLives() {
+        return lives;
+    }
+
+    /**
+     * Returns the pause between levels the game was played with, in nanoseconds.
+     * The replay engine must use the same one, or the clicks arrive while
+     * the next sequence is still being shown.
+     */
+    public long getNextLevelDelay() {
+        return nextLevelDelayNanos;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getStepCount() {
+        return stepCount;
+    }
+
+    public int stepTile(int index) {
+        return stepTiles[index];
+    }
+
+    public int stepColor(int index) {
+        return stepColors[index];
+    }
+
+    public int stepNote(int index) {
+        return stepNotes[index];
+    }
+
+    public int getClickCount() {
+        return clickCount;
+    }
+
+    public int clickTile(int index) {
+        return clickTiles[index];
+    }
+
+    /**
+     * Returns when the click happened, in nanoseconds since the game started.
+     */
+    public long clickTime(int index) {
+        return clickTimes[index];
+    }
+
+    /**
+     * Returns how long after the event it answered the click came, in
+     * nanoseconds: after the engine became ready if clickAfterReady is
+     * true, otherwise after the click before it or the start of the game.
+     */
+    public long clickDelay(int index) {
+        return clickDelays[index];
+    }
+
+    /**
+     * Returns true if the click answered the engine becoming ready for
+     * clicks, after the sequence was shown or after a wrong tile.
+     */
+    public boolean clickAfterReady(int index) {
+        return clickAfterReady[index];
+    }
+
+    public boolean clickCorrect(int index) {
+        return clickCorrect[index];
+    }
+
+    /**
+     * Returns the final score, or -1 if the journal ended before the game was over.
+     */
+    public int getFinalScore() {
+        return finalScore;
+    }
+}
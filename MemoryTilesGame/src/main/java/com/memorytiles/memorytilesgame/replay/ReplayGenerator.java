@@ -0,0 +1,41 @@
+package com.memorytiles.memorytilesgame.replay;
+
+import com.memorytiles.memorytilesgame.engine.Sequence;
+import com.memorytiles.memorytilesgame.engine.SequenceGenerator;
+
+/**
+ * The ReplayGenerator class feeds the steps of a recorded game back into
+ * the engine, so a replay sees exactly the same sequence as the original.
+ */
+public class ReplayGenerator implements SequenceGenerator {
+    private final RecordedGame game;
+    private int next;
+
+    public ReplayGenerator(RecordedGame game) {
+        this.game = game;
+    }
+
+    @Override
+    public void addStep(Sequence sequence) {
+        if (next >= game.getStepCount()) {
+            throw new IllegalStateException("The recorded game has no more steps.");
+        }
+        sequence.add(game.stepTile(next), game.stepColor(next), game.stepNote(next));
+        next++;
+    }
+
+    @Override
+    public boolean hasNextStep() {
+        return next < game.getStepCount();
+    }
+
+    @Override
+    public void reset() {
+        next = 0;
+    }
+
+    @Override
+    public long getSeed() {
+        return game.getSeed();
+    }
+}
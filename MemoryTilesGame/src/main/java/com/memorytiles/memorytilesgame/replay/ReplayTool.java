@@ -0,0 +1,65 @@
+package com.memorytiles.memorytilesgame.replay;
+
+import com.memorytiles.memorytilesgame.engine.CompositeListener;
+import com.memorytiles.memorytilesgame.engine.GameEngine;
+import com.memorytiles.memorytilesgame.engine.GameListener;
+import com.memorytiles.memorytilesgame.engine.VirtualScheduler;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The ReplayTool class re-runs recorded games through the game engine on
+ * a virtual clock, much faster than real time, and checks that each replay
+ * plays every click as recorded and ends with the score that was recorded.
+ * Usage: ReplayTool journal-file...
+ */
+public class ReplayTool {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: ReplayTool journal-file...");
+            return;
+        }
+
+        int games = 0;
+        int mismatches = 0;
+        long clicks = 0;
+        long virtualNanos = 0;
+        long start = System.nanoTime();
+        for (String arg : args) {
+            for (RecordedGame game : JournalReader.read(Path.of(arg))) {
+                int[] score = {-1};
+                VirtualScheduler scheduler = new VirtualScheduler();
+                Replayer replayer = new Replayer(scheduler, game);
+                GameEngine engine = new GameEngine(game.getRows(), game.getCols(), game.getLives(), "Replay",
+                        scheduler, new ReplayGenerator(game), new CompositeListener(replayer, new GameListener() {
+                            @Override
+                            public void onGameOver(int finalScore) {
+                                score[0] = finalScore;
+                            }
+                        }));
+                engine.setNextLevelDelay(game.getNextLevelDelay());
+                replayer.attach(engine);
+                replayer.start();
+                scheduler.runUntilIdle();
+
+                games++;
+                clicks += game.getClickCount();
+                virtualNanos += scheduler.nanoTime();
+                if (replayer.getDivergedClick() >= 0) {
+                    mismatches++;
+                } else if (game.getFinalScore() >= 0 && score[0] != game.getFinalScore()) {
+                    mismatches++;
+                    System.out.println("Game " + games + " in " + arg + " replayed to score " + score[0]
+                            + " but recorded " + game.getFinalScore());
+                }
+            }
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Replayed %d games, %d clicks in %.3f s (%.0fx real time), %d mismatches%n",
+                games, clicks, seconds, virtualNanos / 1e9 / Math.max(seconds, 1e-9), mismatches);
+    }
+}
@@ -0,0 +1,115 @@
+package com.memorytiles.memorytilesgame.replay;
+
+import com.memorytiles.memorytilesgame.engine.GameEngine;
+import com.memorytiles.memorytilesgame.engine.GameListener;
+import com.memorytiles.memorytilesgame.engine.Scheduler;
+import com.memorytiles.memorytilesgame.engine.Timer;
+
+/**
+ * The Replayer class plays the clicks of a recorded game into an engine.
+ * Each click is played as long after the event it answered as it was in
+ * the recording: after the engine became ready for clicks, or after the
+ * click before it. So the replay does not depend on the replay engine
+ * keeping exactly the recorded time, and a scheduler that runs a little
+ * late, like the FxScheduler waiting for pulses, cannot make a click
+ * arrive before the engine is ready for it. With a VirtualScheduler it
+ * replays a game as fast as the engine can run.
+ * The Replayer must be one of the engine's listeners, and the engine must
+ * have been created with a ReplayGenerator for the same game. If a click
+ * is ignored or scores differently from the recording, the replay has
+ * diverged: it is reported and no more clicks are played.
+ */
+public class Replayer implements GameListener {
+    private final RecordedGame game;
+    private final Timer clickTimer;
+    private GameEngine engine;
+    private int next;
+    private int divergedClick = -1;
+
+    public Replayer(Scheduler scheduler, RecordedGame game) {
+        this.game = game;
+        this.clickTimer = scheduler.newTimer(this::playClick);
+    }
+
+    /**
+     * Sets the engine the clicks are played into. Must be called before start.
+     */
+    public void attach(GameEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Starts the engine. The first click is played once the engine is
+     * ready for it.
+     */
+    public void start() {
+        next = 0;
+        divergedClick = -1;
+        engine.start();
+        scheduleAfter(false);
+    }
+
+    /**
+     * Stops replaying clicks.
+     */
+    public void cancel() {
+        clickTimer.cancel();
+    }
+
+    /**
+     * Returns true once every recorded click has been played.
+     */
+    public boolean isFinished() {
+        return next >= game.getClickCount();
+    }
+
+    /**
+     * Returns the index of the click where the replay stopped matching
+     * the recording, or -1 if it has not.
+     */
+    public int getDivergedClick() {
+        return divergedClick;
+    }
+
+    @Override
+    public void onSequenceFinished() {
+        scheduleAfter(true);
+    }
+
+    @Override
+    public void onRetry() {
+        scheduleAfter(true);
+    }
+
+    private void playClick() {
+        int index = next;
+        if (engine.getState() != GameEngine.State.AWAITING_INPUT) {
+            diverge(index, "the engine was not waiting for a click");
+            return;
+        }
+        boolean correct = engine.click(game.clickTile(index));
+        next++;
+        if (correct != game.clickCorrect(index)) {
+            diverge(index, correct ? "it was right but was recorded wrong" : "it was wrong but was recorded right");
+            return;
+        }
+        scheduleAfter(false);
+    }
+
+    /**
+     * Schedules the next click if it answers the event that just happened:
+     * the engine becoming ready, or the last click.
+     */
+    private void scheduleAfter(boolean ready) {
+        if (divergedClick < 0 && next < game.getClickCount() && game.clickAfterReady(next) == ready) {
+            clickTimer.schedule(game.clickDelay(next));
+        }
+    }
+
+    private void diverge(int index, String reason) {
+        divergedClick = index;
+        clickTimer.cancel();
+        System.out.println("Replay diverged at click " + (index + 1) + " of " + game.getClickCount()
+                + ": " + reason + ".");
+    }
+}
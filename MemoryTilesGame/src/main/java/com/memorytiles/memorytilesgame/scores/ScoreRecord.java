@@ -0,0 +1,53 @@
+package com.memorytiles.memorytilesgame.scores;
+
+/**
+ * The ScoreRecord class is one finished game on the leaderboard:
+ * who played, on which grid and with how many lives, the final score,
+ * and when the game ended (milliseconds since 1970).
+ */
+public class ScoreRecord {
+    private final String player;
+    private final int rows;
+    private final int cols;
+    private final int lives;
+    private final int score;
+    private final long timestamp;
+
+    public ScoreRecord(String player, int rows, int cols, int lives, int score, long timestamp) {
+        this.player = player;
+        this.rows = rows;
+        this.cols = cols;
+        this.lives = lives;
+        this.score = score;
+        this.timestamp = timestamp;
+    }
+
+    public String getPlayer() {
+        return player;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getLives() {
+        return lives;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return player + " " + score + " (" + rows + "x" + cols + ", " + lives + " lives)";
+    }
+}
@@ -0,0 +1,356 @@
+package com.memorytiles.memorytilesgame.scores;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * The ScoreStore class is the local leaderboard. Every finished game is
+ * appended to a log file, and in-memory top lists answer the best scores
+ * overall, per grid size and per player without scanning the records.
+ * Opening the store replays the log to rebuild the lists. A record that
+ * was damaged, or cut off by a crash, fails its checksum; the replay then
+ * skips ahead to the next record that passes it and carries on from there,
+ * so valid records after a damaged one are still counted. The bytes that
+ * could not be read are copied to a backup file next to the log, and the
+ * log is rewritten without them, so they are only backed up once.
+ * <p>
+ * Each log record is: body length (int), type (byte), body, and a CRC32
+ * of the type and body (int). A PLAYER record holds a name (short length,
+ * UTF-8 bytes) and is written the first time a player appears; players
+ * are numbered in that order. A SCORE record holds the player number,
+ * rows, cols, lives and score (ints) and the timestamp (long).
+ */
+public class ScoreStore implements Closeable {
+    /** The most records a top list query can return. */
+    public static final int MAX_TOP_K = 1000;
+
+    private static final byte PLAYER = 1;
+    private static final byte SCORE = 2;
+    private static final int SCORE_SIZE = 28;
+    private static final int MAX_NAME_BYTES = 1024;
+    private static final int MAX_BODY_SIZE = 2 + MAX_NAME_BYTES;
+    private static final int OVERHEAD = 4 + 1 + 4;
+    private static final long WINDOW_SIZE = 1L << 30;
+
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(OVERHEAD + MAX_BODY_SIZE);
+    private final CRC32 crc = new CRC32();
+    private final byte[] name = new byte[MAX_NAME_BYTES];
+    private FileChannel channel;
+
+    private int size;
+    private int[] players = new int[1024];
+    private int[] grids = new int[1024];
+    private int[] lives = new int[1024];
+    private int[] scores = new int[1024];
+    private long[] timestamps = new long[1024];
+
+    private final List<String> playerNames = new ArrayList<>();
+    private final Map<String, Integer> playerIds = new HashMap<>();
+    private final List<TopList> playerTops = new ArrayList<>();
+    private final Map<Integer, TopList> gridTops = new HashMap<>();
+    private final TopList overallTop = new TopList();
+
+    private ScoreStore() {
+    }
+
+    /**
+     * Opens the store at the given file, creating it if needed,
+     * and rebuilds the leaderboards from the log.
+     */
+    public static ScoreStore open(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        ScoreStore store = new ScoreStore();
+        Path rewritten = null;
+        try (FileChannel log = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            List<long[]> unreadable = store.replay(log);
+            if (!unreadable.isEmpty()) {
+                saveUnreadable(file, log, unreadable);
+                rewritten = file.resolveSibling(file.getFileName() + ".tmp");
+                copyExcept(log, rewritten, unreadable);
+            }
+        }
+        if (rewritten != null) {
+            Files.move(rewritten, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        store.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        store.channel.position(store.channel.size());
+        return store;
+    }
+
+    /**
+     * Copies the given ranges of the log into a new backup file, and
+     * reports them. Throws if the copy cannot be made, so nothing is
+     * removed from the log without a backup.
+     */
+    private static void saveUnreadable(Path file, FileChannel log, List<long[]> ranges) throws IOException {
+        Path backup = file.resolveSibling(file.getFileName() + ".unreadable-" + System.currentTimeMillis());
+        long bytes = 0;
+        try (FileChannel out = FileChannel.open(backup, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            for (long[] range : ranges) {
+                transfer(log, range[0], range[1], out);
+                bytes += range[1] - range[0];
+            }
+            out.force(true);
+        }
+        System.out.println("Leaderboard: " + bytes + " bytes in " + ranges.size()
+                + " places could not be read and were moved to " + backup + ".");
+    }
+
+    /**
+     * Writes the log without the given ranges to a new file.
+     */
+    private static void copyExcept(FileChannel log, Path target, List<long[]> ranges) throws IOException {
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long position = 0;
+            for (long[] range : ranges) {
+                transfer(log, position, range[0], out);
+                position = range[1];
+            }
+            transfer(log, position, log.size(), out);
+            out.force(true);
+        }
+    }
+
+    private static void transfer(FileChannel from, long start, long end, FileChannel to) throws IOException {
+        long position = start;
+        while (position < end) {
+            position += from.transferTo(position, end - position, to);
+        }
+    }
+
+    /**
+     * Reads every valid record in the log and returns the ranges of bytes
+     * between them that could not be read, in order. After a bad record
+     * the log is searched byte by byte for the next valid one.
+     * The log is memory-mapped in windows of up to 1 GB.
+     */
+    private List<long[]> replay(FileChannel log) throws IOException {
+        List<long[]> unreadable = new ArrayList<>();
+        long fileSize = log.size();
+        MappedByteBuffer data = null;
+        long base = 0;
+        long position = 0;
+        long badFrom = -1;
+        while (position < fileSize) {
+            long windowEnd = data == null ? 0 : base + data.limit();
+            if (data == null || (windowEnd < fileSize && windowEnd - position < OVERHEAD + MAX_BODY_SIZE)) {
+                base = position;
+                data = log.map(FileChannel.MapMode.READ_ONLY, base, Math.min(fileSize - base, WINDOW_SIZE));
+            }
+            int length = readRecord(data, (int) (position - base));
+            if (length < 0) {
+                if (badFrom < 0) {
+                    badFrom = position;
+                }
+                position++;
+                continue;
+            }
+            if (badFrom >= 0) {
+                unreadable.add(new long[]{badFrom, position});
+                badFrom = -1;
+            }
+            position += length;
+        }
+        if (badFrom >= 0) {
+            unreadable.add(new long[]{badFrom, fileSize});
+        }
+        return unreadable;
+    }
+
+    /**
+     * Indexes the record at the given offset if it is complete and valid,
+     * and returns its size. Returns -1, without changing anything, if it
+     * is not.
+     */
+    private int readRecord(MappedByteBuffer data, int start) {
+        if (data.limit() - start < OVERHEAD) {
+            return -1;
+        }
+        int length = data.getInt(start);
+        if (length < 0 || length > MAX_BODY_SIZE || data.limit() - start < OVERHEAD + length) {
+            return -1;
+        }
+        crc.reset();
+        crc.update(data.slice(start + 4, length + 1));
+        if ((int) crc.getValue() != data.getInt(start + 5 + length)) {
+            return -1;
+        }
+        byte type = data.get(start + 4);
+        int body = start + 5;
+        if (type == SCORE && length == SCORE_SIZE) {
+            int player = data.getInt(body);
+            if (player < 0 || player >= playerNames.size()) {
+                return -1;
+            }
+            index(player, data.getInt(body + 4), data.getInt(body + 8), data.getInt(body + 12),
+                    data.getInt(body + 16), data.getLong(body + 20));
+        } else if (type == PLAYER) {
+            int nameLength = data.getShort(body);
+            if (nameLength < 0 || nameLength != length - 2) {
+                return -1;
+            }
+            data.get(body + 2, name, 0, nameLength);
+            addPlayer(new String(name, 0, nameLength, StandardCharsets.UTF_8));
+        } else {
+            return -1;
+        }
+        return OVERHEAD + length;
+    }
+
+    /**
+     * Appends a finished game to the log and the leaderboards.
+     *
+     */
+    public synchronized void add(ScoreRecord record) throws IOException {
+        Integer player = playerIds.get(record.getPlayer());
+        if (player == null) {
+            byte[] name = record.getPlayer().getBytes(StandardCharsets.UTF_8);
+            if (name.length > MAX_NAME_BYTES) {
+                throw new IOException("Player name is too long.");
+            }
+            startRecord(PLAYER, 2 + name.length);
+            writeBuffer.putShort((short) name.length);
+            writeBuffer.put(name);
+            writeRecord();
+            player = addPlayer(record.getPlayer());
+        }
+
+        startRecord(SCORE, SCORE_SIZE);
+        writeBuffer.putInt(player);
+        writeBuffer.putInt(record.getRows());
+        writeBuffer.putInt(record.getCols());
+        writeBuffer.putInt(record.getLives());
+        writeBuffer.putInt(record.getScore());
+        writeBuffer.putLong(record.getTimestamp());
+        writeRecord();
+
+        index(player, record.getRows(), record.getCols(), record.getLives(),
+                record.getScore(), record.getTimestamp());
+    }
+
+    private void startRecord(byte type, int length) {
+        writeBuffer.clear();
+        writeBuffer.putInt(length);
+        writeBuffer.put(type);
+    }
+
+    /**
+     * Adds the checksum to the record in the write buffer and appends it to the log.
+     */
+    private void writeRecord() throws IOException {
+        crc.reset();
+        crc.update(writeBuffer.array(), 4, writeBuffer.position() - 4);
+        writeBuffer.putInt((int) crc.getValue());
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            channel.write(writeBuffer);
+        }
+    }
+
+    private int addPlayer(String name) {
+        int player = playerNames.size();
+        playerNames.add(name);
+        playerIds.put(name, player);
+        playerTops.add(new TopList());
+        return player;
+    }
+
+    private void index(int player, int rows, int cols, int lifeCount, int score, long timestamp) {
+        if (size == scores.length) {
+            int capacity = size * 2;
+            players = Arrays.copyOf(players, capacity);
+            grids = Arrays.copyOf(grids, capacity);
+            lives = Arrays.copyOf(lives, capacity);
+            scores = Arrays.copyOf(scores, capacity);
+            timestamps = Arrays.copyOf(timestamps, capacity);
+        }
+
+        int id = size++;
+        int grid = gridKey(rows, cols);
+        players[id] = player;
+        grids[id] = grid;
+        lives[id] = lifeCount;
+        scores[id] = score;
+        timestamps[id] = timestamp;
+
+        overallTop.add(id, score);
+        TopList gridTop = gridTops.get(grid);
+        if (gridTop == null) {
+            gridTop = new TopList();
+            gridTops.put(grid, gridTop);
+        }
+        gridTop.add(id, score);
+        playerTops.get(player).add(id, score);
+    }
+
+    /**
+     * Returns the best k scores of all games, highest first.
+     */
+    public synchronized List<ScoreRecord> topOverall(int k) {
+        return toRecords(overallTop, k);
+    }
+
+    /**
+     * Returns the best k scores on the given grid size, highest first.
+     */
+    public synchronized List<ScoreRecord> topForGrid(int rows, int cols, int k) {
+        return toRecords(gridTops.get(gridKey(rows, cols)), k);
+    }
+
+    /**
+     * Returns the best k scores of the given player, highest first.
+     */
+    public synchronized List<ScoreRecord> topForPlayer(String player, int k) {
+        Integer playerId = playerIds.get(player);
+        return toRecords(playerId == null ? null : playerTops.get(playerId), k);
+    }
+
+    /**
+     * Returns the number of games in the store.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private List<ScoreRecord> toRecords(TopList top, int k) {
+        if (top == null) {
+            return List.of();
+        }
+        int count = Math.min(k, top.size());
+        List<ScoreRecord> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int id = top.get(i);
+            result.add(new ScoreRecord(playerNames.get(players[id]), grids[id] >>> 16, grids[id] & 0xFFFF,
+                    lives[id], scores[id], timestamps[id]));
+        }
+        return result;
+    }
+
+    private static int gridKey(int rows, int cols) {
+        return (rows << 16) | cols;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,54 @@
+package com.memorytiles.memorytilesgame.scores;
+
+import java.util.Arrays;
+
+/**
+ * The TopList class keeps the ids of the best records for one leaderboard,
+ * sorted from the highest score down. Equal scores keep the earlier record
+ * first. Only the best ScoreStore.MAX_TOP_K records are kept, so adding a
+ * record and reading the top K are both cheap however many records exist.
+ */
+final class TopList {
+    private int[] ids = new int[4];
+    private int[] scores = new int[4];
+    private int size;
+
+    /**
+     * Adds a record if it is good enough to be in the list.
+     * Records must be added in id order.
+     */
+    void add(int id, int score) {
+        if (size == ScoreStore.MAX_TOP_K && score <= scores[size - 1]) {
+            return;
+        }
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (scores[mid] >= score) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (size == ids.length && size < ScoreStore.MAX_TOP_K) {
+            int capacity = Math.min(size * 2, ScoreStore.MAX_TOP_K);
+            ids = Arrays.copyOf(ids, capacity);
+            scores = Arrays.copyOf(scores, capacity);
+        }
+        int moved = Math.min(size, ScoreStore.MAX_TOP_K - 1) - low;
+        System.arraycopy(ids, low, ids, low + 1, moved);
+        System.arraycopy(scores, low, scores, low + 1, moved);
+        ids[low] = id;
+        scores[low] = score;
+        size = Math.min(size + 1, ScoreStore.MAX_TOP_K);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int index) {
+        return ids[index];
+    }
+}
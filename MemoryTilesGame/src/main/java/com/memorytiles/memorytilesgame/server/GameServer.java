@@ -0,0 +1,113 @@
+package com.memorytiles.memorytilesgame.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The GameServer class hosts Memory Tiles games for many players at once
+ * over a local TCP socket. Every connection is one GameSession running on
+ * its own (virtual, where available) thread, using the line protocol
+ * described in GameSession.
+ * Usage: GameServer [port]
+ */
+public class GameServer implements AutoCloseable {
+    public static final int DEFAULT_PORT = 4567;
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = ThreadPerTask.newExecutor();
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final AtomicLong totalSessions = new AtomicLong();
+
+    public GameServer(int port) throws IOException {
+        serverSocket = new ServerSocket(port, 4096, InetAddress.getLoopbackAddress());
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        GameServer server = new GameServer(port);
+        System.out.println("Memory Tiles server on port " + server.getPort()
+                + (ThreadPerTask.isVirtual() ? " (virtual threads)" : " (platform threads)"));
+        server.serve();
+    }
+
+    /**
+     * Accepts connections until the server is closed.
+     */
+    public void serve() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                executor.execute(() -> runSession(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    System.out.println("Could not accept a connection: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts accepting connections on a background thread.
+     */
+    public void start() {
+        Thread thread = new Thread(this::serve, "game-server");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void runSession(Socket socket) {
+        activeSessions.incrementAndGet();
+        totalSessions.incrementAndGet();
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII))) {
+            socket.setTcpNoDelay(true);
+            GameSession session = new GameSession();
+            String line;
+            while (!session.isQuit() && (line = in.readLine()) != null) {
+                out.write(session.handle(line));
+                out.write('\n');
+                out.flush();
+            }
+        } catch (IOException e) {
+            // The client went away, nothing left to do for this session.
+        } finally {
+            activeSessions.decrementAndGet();
+        }
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Returns the number of connected sessions.
+     */
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    /**
+     * Returns the number of sessions since the server started.
+     */
+    public long getTotalSessions() {
+        return totalSessions.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,122 @@
+package com.memorytiles.memorytilesgame.server;
+
+import com.memorytiles.memorytilesgame.engine.GameEngine;
+import com.memorytiles.memorytilesgame.engine.GameListener;
+import com.memorytiles.memorytilesgame.engine.NoRepeatGenerator;
+import com.memorytiles.memorytilesgame.engine.Sequence;
+import com.memorytiles.memorytilesgame.engine.VirtualScheduler;
+
+/**
+ * The GameSession class is one player's game on the server. It runs the
+ * normal GameEngine on a virtual clock: the pauses between flashes and
+ * levels are skipped on the server, and the client is sent the whole
+ * sequence to show at its own pace. Each command line gets exactly one
+ * response line.
+ * <pre>
+ * START rows cols lives [seed]  -> LEVEL level score tile...
+ * CLICK tile                    -> OK score | LEVEL level score tile... | WRONG lives | GAMEOVER score
+ * QUIT                          -> BYE
+ * </pre>
+ * Anything else gets "ERR message".
+ */
+public class GameSession implements GameListener {
+    private final VirtualScheduler scheduler = new VirtualScheduler();
+    private GameEngine engine;
+    private boolean gameOver;
+    private boolean quit;
+
+    /**
+     * Handles one command from the client and returns the response.
+     *
+     */
+    public String handle(String line) {
+        String[] parts = line.trim().split("\\s+");
+        try {
+            switch (parts[0].toUpperCase()) {
+                case "START":
+                    return start(parts);
+                case "CLICK":
+                    return click(parts);
+                case "QUIT":
+                    quit = true;
+                    return "BYE";
+                default:
+                    return "ERR unknown command";
+            }
+        } catch (NumberFormatException e) {
+            return "ERR bad number";
+        }
+    }
+
+    private String start(String[] parts) {
+        if (parts.length < 4) {
+            return "ERR usage: START rows cols lives [seed]";
+        }
+        int rows = Integer.parseInt(parts[1]);
+        int cols = Integer.parseInt(parts[2]);
+        int lives = Integer.parseInt(parts[3]);
+        long seed = parts.length > 4 ? Long.parseLong(parts[4]) : System.nanoTime();
+        if (rows < 2 || cols < 2 || rows > 256 || cols > 256 || lives < 0) {
+            return "ERR board must be 2x2 to 256x256 with 0 or more lives";
+        }
+
+        gameOver = false;
+        engine = new GameEngine(rows, cols, lives, "Player", scheduler,
+                new NoRepeatGenerator(rows * cols, 1, seed), this);
+        engine.start();
+        scheduler.runUntilIdle();
+        return levelLine();
+    }
+
+    private String click(String[] parts) {
+        if (engine == null || gameOver) {
+            return "ERR no game running";
+        }
+        if (parts.length < 2) {
+            return "ERR usage: CLICK tile";
+        }
+        int tile = Integer.parseInt(parts[1]);
+        if (tile < 0 || tile >= engine.getRows() * engine.getCols()) {
+            return "ERR no such tile";
+        }
+
+        boolean correct = engine.click(tile);
+        int level = engine.getLevel();
+        scheduler.runUntilIdle();
+        if (gameOver) {
+            return "GAMEOVER " + engine.getScoreHelper().getScore();
+        }
+        if (!correct) {
+            return "WRONG " + engine.getLives();
+        }
+        if (engine.getLevel() != level) {
+            return levelLine();
+        }
+        return "OK " + engine.getScoreHelper().getScore();
+    }
+
+    /**
+     * Returns the LEVEL line with the whole sequence of the current level.
+     */
+    private String levelLine() {
+        Sequence sequence = engine.getSequence();
+        StringBuilder line = new StringBuilder(16 + sequence.size() * 4);
+        line.append("LEVEL ").append(engine.getLevel()).append(' ').append(engine.getScoreHelper().getScore());
+        for (int i = 0; i < sequence.size(); i++) {
+            line.append(' ').append(sequence.tileAt(i));
+        }
+        return line.toString();
+    }
+
+    @Override
+    public void onGameOver(int score) {
+        gameOver = true;
+    }
+
+    /**
+     * Returns true once the client has said QUIT.
+     */
+    public boolean isQuit() {
+        return quit;
+    }
+}
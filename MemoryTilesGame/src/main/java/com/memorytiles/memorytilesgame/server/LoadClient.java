@@ -0,0 +1,200 @@
+package com.memorytiles.memorytilesgame.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The LoadClient class is a load generator for the GameServer. It opens
+ * many connections at once, and on each one a bot plays game after game,
+ * remembering the sequence but clicking a wrong tile now and then. At the
+ * end it reports finished games per second and the click response latency.
+ * With port 0 it starts a server in the same process first.
+ * Usage: LoadClient [port] [connections] [seconds] [rows] [cols] [lives]
+ */
+public class LoadClient {
+    private static final double MISTAKE_CHANCE = 0.02;
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : GameServer.DEFAULT_PORT;
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int rows = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+        int cols = args.length > 4 ? Integer.parseInt(args[4]) : 3;
+        int lives = args.length > 5 ? Integer.parseInt(args[5]) : 3;
+
+        GameServer server = null;
+        if (port == 0) {
+            server = new GameServer(0);
+            server.start();
+            port = server.getPort();
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService executor = ThreadPerTask.newExecutor();
+        List<Future<Bot>> futures = new ArrayList<>();
+        for (int i = 0; i < connections; i++) {
+            Bot bot = new Bot(port, rows, cols, lives, deadline, i);
+            futures.add(executor.submit(() -> {
+                bot.run();
+                return bot;
+            }));
+        }
+
+        long games = 0;
+        long errors = 0;
+        int clicks = 0;
+        List<Bot> bots = new ArrayList<>(futures.size());
+        for (Future<Bot> future : futures) {
+            Bot bot = future.get();
+            bots.add(bot);
+            games += bot.games;
+            errors += bot.errors;
+            clicks += bot.clicks;
+        }
+        long[] latencies = new long[clicks];
+        int start = 0;
+        for (Bot bot : bots) {
+            System.arraycopy(bot.latencies, 0, latencies, start, bot.clicks);
+            start += bot.clicks;
+        }
+        executor.shutdown();
+        if (server != null) {
+            server.close();
+        }
+
+        Arrays.sort(latencies);
+        System.out.printf("%d connections (%s threads), %d s, %dx%d board, %d lives%n", connections,
+                ThreadPerTask.isVirtual() ? "virtual" : "platform", seconds, rows, cols, lives);
+        System.out.printf("%d games, %.0f games/s, %d clicks, %.0f clicks/s, %d errors%n",
+                games, games / (double) seconds, latencies.length, latencies.length / (double) seconds, errors);
+        if (latencies.length > 0) {
+            System.out.printf("click latency p50 %.1f us, p99 %.1f us, max %.1f us%n",
+                    percentile(latencies, 0.50) / 1000.0, percentile(latencies, 0.99) / 1000.0,
+                    latencies[latencies.length - 1] / 1000.0);
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)];
+    }
+
+    /**
+     * One connection playing games until the deadline.
+     */
+    private static class Bot {
+        private final int port;
+        private final int rows;
+        private final int cols;
+        private final int lives;
+        private final long deadline;
+        private final SplittableRandom random;
+
+        private long[] latencies = new long[1024];
+        private int clicks;
+        private long games;
+        private long errors;
+
+        Bot(int port, int rows, int cols, int lives, long deadline, long seed) {
+            this.port = port;
+            this.rows = rows;
+            this.cols = cols;
+            this.lives = lives;
+            this.deadline = deadline;
+            this.random = new SplittableRandom(seed);
+        }
+
+        void run() {
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                 Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII))) {
+                socket.setTcpNoDelay(true);
+                while (System.nanoTime() < deadline) {
+                    playGame(in, out);
+                }
+                send(out, "QUIT");
+                in.readLine();
+            } catch (IOException e) {
+                errors++;
+            }
+        }
+
+        private void playGame(BufferedReader in, Writer out) throws IOException {
+            String reply = send(in, out, "START " + rows + " " + cols + " " + lives + " " + random.nextLong());
+            int[] sequence = parseLevel(reply);
+            int index = 0;
+            while (System.nanoTime() < deadline) {
+                int tile = sequence[index];
+                if (random.nextDouble() < MISTAKE_CHANCE) {
+                    tile = (tile + 1) % (rows * cols);
+                }
+                long start = System.nanoTime();
+                reply = send(in, out, "CLICK " + tile);
+                record(System.nanoTime() - start);
+
+                if (reply.startsWith("OK")) {
+                    index++;
+                } else if (reply.startsWith("LEVEL")) {
+                    sequence = parseLevel(reply);
+                    index = 0;
+                } else if (reply.startsWith("GAMEOVER")) {
+                    games++;
+                    return;
+                } else if (!reply.startsWith("WRONG")) {
+                    errors++;
+                    return;
+                }
+            }
+        }
+
+        private String send(BufferedReader in, Writer out, String command) throws IOException {
+            send(out, command);
+            String reply = in.readLine();
+            if (reply == null) {
+                throw new IOException("Server closed the connection.");
+            }
+            return reply;
+        }
+
+        private void send(Writer out, String command) throws IOException {
+            out.write(command);
+            out.write('\n');
+            out.flush();
+        }
+
+        /**
+         * Reads the tiles from a "LEVEL level score tile..." line.
+         */
+        private int[] parseLevel(String reply) throws IOException {
+            String[] parts = reply.split(" ");
+            if (!parts[0].equals("LEVEL")) {
+                throw new IOException("Unexpected reply: " + reply);
+            }
+            int[] tiles = new int[parts.length - 3];
+            for (int i = 0; i < tiles.length; i++) {
+                tiles[i] = Integer.parseInt(parts[i + 3]);
+            }
+            return tiles;
+        }
+
+        private void record(long nanos) {
+            if (clicks == latencies.length) {
+                latencies = Arrays.copyOf(latencies, clicks * 2);
+            }
+            latencies[clicks++] = nanos;
+        }
+    }
+}
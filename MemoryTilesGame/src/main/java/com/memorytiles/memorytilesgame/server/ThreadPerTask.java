@@ -0,0 +1,44 @@
+package com.memorytiles.memorytilesgame.server;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The ThreadPerTask class creates an executor that runs every task on its
+ * own thread. On Java 21 and later these are virtual threads, so thousands
+ * of blocking connections are cheap. The game is compiled for Java 18, so
+ * the virtual thread executor is looked up at run time, and older Java
+ * versions fall back to a cached pool of platform threads.
+ */
+final class ThreadPerTask {
+
+    private ThreadPerTask() {
+    }
+
+    static ExecutorService newExecutor() {
+        ExecutorService executor = virtualExecutor();
+        return executor != null ? executor : Executors.newCachedThreadPool();
+    }
+
+    /**
+     * Returns true if the executors created here use virtual threads.
+     */
+    static boolean isVirtual() {
+        ExecutorService executor = virtualExecutor();
+        if (executor == null) {
+            return false;
+        }
+        executor.shutdown();
+        return true;
+    }
+
+    private static ExecutorService virtualExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.memorytiles.memorytilesgame.sim;
+
+import com.memorytiles.memorytilesgame.engine.Sequence;
+
+import java.util.SplittableRandom;
+
+/**
+ * The BotPlayer interface is a simulated player. Given the sequence and the
+ * step the game expects next, it decides which tile to click.
+ */
+public interface BotPlayer {
+
+    /**
+     * Returns the tile the bot clicks for the given step of the sequence.
+     *
+     */
+    int chooseTile(Sequence sequence, int step, int tileCount, SplittableRandom random);
+
+    /**
+     * Returns a short name for reports.
+     */
+    String getName();
+
+    /**
+     * A bot that never forgets and never misclicks.
+     */
+    static BotPlayer perfect() {
+        return new BotPlayer() {
+            @Override
+            public int chooseTile(Sequence sequence, int step, int tileCount, SplittableRandom random) {
+                return sequence.tileAt(step);
+            }
+
+            @Override
+            public String getName() {
+                return "perfect";
+            }
+        };
+    }
+
+    /**
+     * A bot that remembers only the first steps of the sequence, up to its
+     * capacity, and guesses a random tile for every step after that.
+     */
+    static BotPlayer boundedMemory(int capacity) {
+        return new BotPlayer() {
+            @Override
+            public int chooseTile(Sequence sequence, int step, int tileCount, SplittableRandom random) {
+                return step < capacity ? sequence.tileAt(step) : random.nextInt(tileCount);
+            }
+
+            @Override
+            public String getName() {
+                return "memory" + capacity;
+            }
+        };
+    }
+
+    /**
+     * A bot that remembers everything but clicks the right tile only with
+     * the given probability, and a random other tile otherwise.
+     */
+    static BotPlayer noisy(double accuracy) {
+        return new BotPlayer() {
+            @Override
+            public int chooseTile(Sequence sequence, int step, int tileCount, SplittableRandom random) {
+                int tile = sequence.tileAt(step);
+                if (random.nextDouble() < accuracy) {
+                    return tile;
+                }
+                return (tile + 1 + random.nextInt(tileCount - 1)) % tileCount;
+            }
+
+            @Override
+            public String getName() {
+                return "noisy" + Math.round(accuracy * 100);
+            }
+        };
+    }
+}
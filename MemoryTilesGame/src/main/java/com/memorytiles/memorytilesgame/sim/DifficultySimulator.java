@@ -0,0 +1,55 @@
+package com.memorytiles.memorytilesgame.sim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * The DifficultySimulator class plays many games with bot players for
+ * every board size from 2x2 to 7x7 and a few choices of lives, spread
+ * across all cores with fork/join. It prints the score distribution of
+ * each (rows, cols, lives, bot) setting as CSV, to help choose defaults.
+ * Games that reach the level cap are stopped and counted as capped.
+ * Usage: DifficultySimulator [games-per-setting] [max-level] [seed]
+ */
+public class DifficultySimulator {
+    private static final int MIN_SIZE = 2;
+    private static final int MAX_SIZE = 7;
+    private static final int[] LIVES = {1, 3, 5};
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int maxLevel = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+        BotPlayer[] bots = {BotPlayer.perfect(), BotPlayer.boundedMemory(7), BotPlayer.noisy(0.95)};
+
+        long start = System.nanoTime();
+        List<String> labels = new ArrayList<>();
+        List<ForkJoinTask<ScoreDistribution>> tasks = new ArrayList<>();
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        for (int rows = MIN_SIZE; rows <= MAX_SIZE; rows++) {
+            for (int cols = MIN_SIZE; cols <= MAX_SIZE; cols++) {
+                for (int lives : LIVES) {
+                    for (BotPlayer bot : bots) {
+                        labels.add(rows + "," + cols + "," + lives + "," + bot.getName());
+                        tasks.add(pool.submit(new SimulationTask(rows, cols, lives, bot, maxLevel, seed, 0, games)));
+                    }
+                }
+            }
+        }
+
+        long totalGames = 0;
+        System.out.println("rows,cols,lives,bot,games,mean_score,p10,p50,p90,max,mean_levels,capped");
+        for (int i = 0; i < tasks.size(); i++) {
+            ScoreDistribution d = tasks.get(i).join();
+            totalGames += d.getGames();
+            System.out.printf("%s,%d,%.2f,%d,%d,%d,%d,%.2f,%.3f%n", labels.get(i), d.getGames(), d.getMeanScore(),
+                    d.percentile(0.10), d.percentile(0.50), d.percentile(0.90), d.getMaxScore(),
+                    d.getMeanLevels(), d.getCappedFraction());
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.err.printf("%d games in %.2f s (%.0f games/s) on %d threads%n",
+                totalGames, seconds, totalGames / seconds, pool.getParallelism());
+    }
+}
@@ -0,0 +1,93 @@
+package com.memorytiles.memorytilesgame.sim;
+
+import java.util.Arrays;
+
+/**
+ * The ScoreDistribution class counts how many simulated games ended with
+ * each score, and how many were stopped at the level cap. Distributions
+ * from different threads are combined with merge.
+ */
+public class ScoreDistribution {
+    private long[] counts = new long[64];
+    private long games;
+    private long capped;
+    private long totalScore;
+    private long totalLevels;
+
+    /**
+     * Adds one finished game.
+     *
+     */
+    public void add(int score, int levels, boolean reachedCap) {
+        if (score >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(score + 1, counts.length * 2));
+        }
+        counts[score]++;
+        games++;
+        totalScore += score;
+        totalLevels += levels;
+        if (reachedCap) {
+            capped++;
+        }
+    }
+
+    /**
+     * Adds all games of another distribution to this one.
+     */
+    public void merge(ScoreDistribution other) {
+        if (other.counts.length > counts.length) {
+            counts = Arrays.copyOf(counts, other.counts.length);
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        games += other.games;
+        capped += other.capped;
+        totalScore += other.totalScore;
+        totalLevels += other.totalLevels;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public double getMeanScore() {
+        return games == 0 ? 0 : totalScore / (double) games;
+    }
+
+    public double getMeanLevels() {
+        return games == 0 ? 0 : totalLevels / (double) games;
+    }
+
+    /**
+     * Returns the fraction of games that were stopped at the level cap.
+     */
+    public double getCappedFraction() {
+        return games == 0 ? 0 : capped / (double) games;
+    }
+
+    /**
+     * Returns the lowest score that at least the given fraction of games
+     * scored at or below, so percentile(0.9) is the usual p90.
+     */
+    public int percentile(double p) {
+        long target = (long) Math.ceil(p * games);
+        long seen = 0;
+        for (int score = 0; score < counts.length; score++) {
+            seen += counts[score];
+            if (seen >= target && seen > 0) {
+                return score;
+            }
+        }
+        return 0;
+    }
+
+    public int getMaxScore() {
+        for (int score = counts.length - 1; score >= 0; score--) {
+            if (counts[score] > 0) {
+                return score;
+            }
+        }
+        return 0;
+    }
+}
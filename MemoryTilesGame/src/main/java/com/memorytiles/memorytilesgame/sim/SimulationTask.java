@@ -0,0 +1,93 @@
+package com.memorytiles.memorytilesgame.sim;
+
+import com.memorytiles.memorytilesgame.engine.GameEngine;
+import com.memorytiles.memorytilesgame.engine.GameListener;
+import com.memorytiles.memorytilesgame.engine.NoRepeatGenerator;
+import com.memorytiles.memorytilesgame.engine.RandomSequenceGenerator;
+import com.memorytiles.memorytilesgame.engine.Sequence;
+import com.memorytiles.memorytilesgame.engine.VirtualScheduler;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The SimulationTask class plays a range of games for one difficulty
+ * setting with the fork/join framework. Large ranges are split in half
+ * until they are small enough to play on one thread, which reuses a single
+ * engine on a virtual clock for all its games. Every game is seeded from
+ * its own index, so results do not depend on how the work was split.
+ */
+public class SimulationTask extends RecursiveTask<ScoreDistribution> {
+    private static final int GAMES_PER_TASK = 500;
+
+    private final int rows;
+    private final int cols;
+    private final int lives;
+    private final BotPlayer bot;
+    private final int maxLevel;
+    private final long seed;
+    private final int from;
+    private final int to;
+
+    public SimulationTask(int rows, int cols, int lives, BotPlayer bot, int maxLevel, long seed, int from, int to) {
+        this.rows = rows;
+        this.cols = cols;
+        this.lives = lives;
+        this.bot = bot;
+        this.maxLevel = maxLevel;
+        this.seed = seed;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected ScoreDistribution compute() {
+        if (to - from <= GAMES_PER_TASK) {
+            return play();
+        }
+        int middle = (from + to) >>> 1;
+        SimulationTask left = new SimulationTask(rows, cols, lives, bot, maxLevel, seed, from, middle);
+        SimulationTask right = new SimulationTask(rows, cols, lives, bot, maxLevel, seed, middle, to);
+        left.fork();
+        ScoreDistribution result = right.compute();
+        result.merge(left.join());
+        return result;
+    }
+
+    /**
+     * Plays this task's games one after another on one engine. Before each
+     * game the generator and the bot's random numbers are seeded from the
+     * game's index; restart then moves the generator on to a seed drawn
+     * from that one, so every game depends only on its index.
+     */
+    private ScoreDistribution play() {
+        ScoreDistribution distribution = new ScoreDistribution();
+        VirtualScheduler scheduler = new VirtualScheduler();
+        int tileCount = rows * cols;
+        RandomSequenceGenerator generator = new NoRepeatGenerator(tileCount, 1, seed);
+        GameEngine engine = new GameEngine(rows, cols, lives, "Bot", scheduler, generator, new GameListener() {
+        });
+        Sequence sequence = engine.getSequence();
+
+        for (int game = from; game < to; game++) {
+            SplittableRandom random = new SplittableRandom(seed * 31 + game);
+            generator.reseed(random.nextLong());
+            engine.restart();
+            boolean reachedCap = false;
+            while (true) {
+                scheduler.runUntilIdle();
+                if (engine.getState() == GameEngine.State.GAME_OVER) {
+                    break;
+                }
+                if (engine.getLevel() > maxLevel) {
+                    reachedCap = true;
+                    break;
+                }
+                int step = sequence.getCurrentIndex();
+                engine.click(bot.chooseTile(sequence, step, tileCount, random));
+            }
+            distribution.add(engine.getScoreHelper().getScore(), engine.getLevel(), reachedCap);
+        }
+        return distribution;
+    }
+}
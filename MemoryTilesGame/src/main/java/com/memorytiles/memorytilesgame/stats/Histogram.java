@@ -0,0 +1,118 @@
+package com.memorytiles.memorytilesgame.stats;
+
+import java.util.Arrays;
+
+/**
+ * The Histogram class counts durations in a fixed set of buckets, the
+ * same way an HDR histogram does: each power of two is split into
+ * SUB_BUCKETS equal buckets, so every value is kept to within about 6%.
+ * Durations are stored in microseconds from 1 us up to about 70 minutes,
+ * and longer ones are counted in the last bucket. The bucket array is
+ * allocated once, so recording a value never allocates.
+ */
+public class Histogram {
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int MAX_BITS = 32;
+    private static final long MAX_MICROS = (1L << MAX_BITS) - 1;
+    private static final int BUCKETS = SUB_BUCKETS * (MAX_BITS - SUB_BITS + 1);
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long totalMicros;
+    private long maxMicros;
+
+    /**
+     * Records one duration in nanoseconds. Negative durations count as zero.
+     */
+    public void record(long nanos) {
+        long micros = Math.min(Math.max(nanos / 1000, 0), MAX_MICROS);
+        counts[bucketOf(micros)]++;
+        count++;
+        totalMicros += micros;
+        if (micros > maxMicros) {
+            maxMicros = micros;
+        }
+    }
+
+    /**
+     * Adds all the values recorded in another histogram to this one.
+     */
+    public void add(Histogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        totalMicros += other.totalMicros;
+        maxMicros = Math.max(maxMicros, other.maxMicros);
+    }
+
+    /**
+     * Removes all recorded values.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        totalMicros = 0;
+        maxMicros = 0;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the longest recorded duration in nanoseconds.
+     */
+    public long getMaxNanos() {
+        return maxMicros * 1000;
+    }
+
+    /**
+     * Returns the average duration in nanoseconds, or 0 if nothing was recorded.
+     */
+    public long getMeanNanos() {
+        return count == 0 ? 0 : totalMicros * 1000 / count;
+    }
+
+    /**
+     * Returns the duration in nanoseconds that the given percentage of
+     * the recorded values are at or below, or 0 if nothing was recorded.
+     * The value is the middle of the bucket it falls in.
+     */
+    public long getPercentileNanos(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(middleOf(i), maxMicros) * 1000;
+            }
+        }
+        return maxMicros * 1000;
+    }
+
+    /**
+     * Returns the bucket for a value: values below 2 * SUB_BUCKETS get a
+     * bucket each, larger ones are shifted down to their top SUB_BITS + 1 bits.
+     */
+    private static int bucketOf(long micros) {
+        if (micros < 2 * SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(micros) - SUB_BITS;
+        return SUB_BUCKETS * shift + (int) (micros >>> shift);
+    }
+
+    private static long middleOf(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowest = (long) (bucket - SUB_BUCKETS * shift) << shift;
+        return lowest + (1L << shift) / 2;
+    }
+}
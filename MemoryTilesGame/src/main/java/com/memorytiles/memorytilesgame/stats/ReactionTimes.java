@@ -0,0 +1,68 @@
+package com.memorytiles.memorytilesgame.stats;
+
+/**
+ * The ReactionTimes class holds one player's reaction time histograms:
+ * the time from the prompt to the first click of each attempt, the time
+ * between clicks, and the time to reach each position in the sequence.
+ * Positions from MAX_POSITIONS - 1 on share the last histogram.
+ */
+public class ReactionTimes {
+    public static final int MAX_POSITIONS = 32;
+
+    private final String player;
+    private final Histogram firstClick = new Histogram();
+    private final Histogram betweenClicks = new Histogram();
+    private final Histogram[] positions = new Histogram[MAX_POSITIONS];
+
+    public ReactionTimes(String player) {
+        this.player = player;
+        for (int i = 0; i < MAX_POSITIONS; i++) {
+            positions[i] = new Histogram();
+        }
+    }
+
+    /**
+     * Records a click at the given position of the sequence, made the given
+     * number of nanoseconds after the prompt or after the previous click.
+     */
+    public void record(int position, long nanos, boolean first) {
+        if (first) {
+            firstClick.record(nanos);
+        } else {
+            betweenClicks.record(nanos);
+        }
+        positions[Math.min(position, MAX_POSITIONS - 1)].record(nanos);
+    }
+
+    public String getPlayer() {
+        return player;
+    }
+
+    public Histogram getFirstClick() {
+        return firstClick;
+    }
+
+    public Histogram getBetweenClicks() {
+        return betweenClicks;
+    }
+
+    /**
+     * Returns the histogram for a position in the sequence, counting from 0.
+     */
+    public Histogram getPosition(int position) {
+        return positions[Math.min(position, MAX_POSITIONS - 1)];
+    }
+
+    /**
+     * Returns a short summary of the median and 90th percentile times.
+     */
+    public String getReport() {
+        return String.format("First click: median %d ms, p90 %d ms%nBetween clicks: median %d ms, p90 %d ms",
+                millis(firstClick, 50), millis(firstClick, 90),
+                millis(betweenClicks, 50), millis(betweenClicks, 90));
+    }
+
+    private static long millis(Histogram histogram, double percentile) {
+        return histogram.getPercentileNanos(percentile) / 1_000_000;
+    }
+}
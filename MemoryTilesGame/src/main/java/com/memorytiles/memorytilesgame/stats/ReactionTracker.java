@@ -0,0 +1,96 @@
+package com.memorytiles.memorytilesgame.stats;
+
+import com.memorytiles.memorytilesgame.engine.GameEngine;
+import com.memorytiles.memorytilesgame.engine.GameListener;
+import com.memorytiles.memorytilesgame.engine.Scheduler;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The ReactionTracker class measures how quickly the player clicks.
+ * It starts the clock when the player is asked to repeat the sequence
+ * (and again after a retry), then records the time to each click and
+ * between clicks in the ReactionTimes of the current player.
+ * Clicks are timed from when they arrived, as passed to the engine,
+ * not from when the engine got round to handling them.
+ * Players are looked up once per game, so recording a click only
+ * updates a few histogram buckets.
+ */
+public class ReactionTracker implements GameListener {
+    private final Map<String, ReactionTimes> players = new HashMap<>();
+    private GameEngine engine;
+    private Scheduler scheduler;
+    private ReactionTimes current;
+    private long lastMark;
+    private boolean waitingForFirst;
+    private boolean timing;
+
+    /**
+     * Sets the engine being followed and the scheduler its clock is read
+     * from. Must be called before the engine starts.
+     */
+    public void attach(GameEngine engine, Scheduler scheduler) {
+        this.engine = engine;
+        this.scheduler = scheduler;
+        this.current = getPlayer(engine.getScoreHelper().getPlayerName());
+        this.timing = false;
+    }
+
+    /**
+     * Returns the reaction times of a player, creating them if needed.
+     */
+    public ReactionTimes getPlayer(String name) {
+        return players.computeIfAbsent(name, ReactionTimes::new);
+    }
+
+    /**
+     * Returns the reaction times of the player in the current game,
+     * or null if no game is attached.
+     */
+    public ReactionTimes getCurrent() {
+        return current;
+    }
+
+    @Override
+    public void onLevelStarted(int level) {
+        timing = false;
+    }
+
+    @Override
+    public void onSequenceFinished() {
+        startClock();
+    }
+
+    @Override
+    public void onRetry() {
+        startClock();
+    }
+
+    @Override
+    public void onCorrectClick(int tile, int color, int note) {
+        recordClick(engine.getSequence().getCurrentIndex() - 1);
+    }
+
+    @Override
+    public void onWrongTile(int tile, int livesLeft) {
+        recordClick(engine.getSequence().getCurrentIndex());
+        timing = false;
+    }
+
+    private void startClock() {
+        lastMark = scheduler.nanoTime();
+        waitingForFirst = true;
+        timing = true;
+    }
+
+    private void recordClick(int position) {
+        if (!timing) {
+            return;
+        }
+        long clicked = Math.max(lastMark, engine.getClickTime());
+        current.record(position, clicked - lastMark, waitingForFirst);
+        lastMark = clicked;
+        waitingForFirst = false;
+    }
+}
@@ -4,7 +4,20 @@ module com.memorytiles.memorytilesgame {
 
     requires org.controlsfx.controls;
     requires javafx.media;
+    requires java.desktop;
+    requires jdk.jfr;
+    requires java.management;
 
     opens com.memorytiles.memorytilesgame to javafx.fxml;
     exports com.memorytiles.memorytilesgame;
+    exports com.memorytiles.memorytilesgame.engine;
+    exports com.memorytiles.memorytilesgame.audio;
+    exports com.memorytiles.memorytilesgame.replay;
+    exports com.memorytiles.memorytilesgame.scores;
+    exports com.memorytiles.memorytilesgame.server;
+    exports com.memorytiles.memorytilesgame.sim;
+    exports com.memorytiles.memorytilesgame.metrics;
+    exports com.memorytiles.memorytilesgame.stats;
+    exports com.memorytiles.memorytilesgame.broadcast;
+    exports com.memorytiles.memorytilesgame.input;
 }
\ No newline at end of file
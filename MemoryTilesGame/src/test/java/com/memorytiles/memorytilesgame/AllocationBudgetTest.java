@@ -0,0 +1,243 @@
+package com.memorytiles.memorytilesgame;
+
+import com.memorytiles.memorytilesgame.broadcast.BoardState;
+import com.memorytiles.memorytilesgame.broadcast.BroadcastListener;
+import com.memorytiles.memorytilesgame.broadcast.Broadcaster;
+import com.memorytiles.memorytilesgame.broadcast.Frame;
+import com.memorytiles.memorytilesgame.engine.CompositeListener;
+import com.memorytiles.memorytilesgame.engine.GameEngine;
+import com.memorytiles.memorytilesgame.engine.GameListener;
+import com.memorytiles.memorytilesgame.engine.NoRepeatGenerator;
+import com.memorytiles.memorytilesgame.engine.Sequence;
+import com.memorytiles.memorytilesgame.engine.VirtualScheduler;
+import com.memorytiles.memorytilesgame.input.InputRing;
+import com.memorytiles.memorytilesgame.metrics.MetricsListener;
+import com.memorytiles.memorytilesgame.metrics.MetricsRegistry;
+import com.memorytiles.memorytilesgame.stats.ReactionTracker;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * The AllocationBudgetTest class checks that playing the game does not
+ * allocate. It plays scripted games headless, with the listeners the UI
+ * uses apart from the JavaFX ones, and measures the bytes the thread
+ * allocates with the JVM's per-thread allocation counter: around the
+ * clicks, around starting a game, and around everything else (playing the
+ * sequence, flashes, level changes and retries). The script clicks the
+ * whole sequence right up to a level cap, then clicks wrong tiles until
+ * the game is over, so every click path is used. The numbers are taken
+ * after warm-up games, when the sequence and queues have reached their
+ * full size.
+ */
+public class AllocationBudgetTest {
+    private static final int ROWS = 3;
+    private static final int COLS = 3;
+    private static final int LIVES = 3;
+    private static final int MAX_LEVEL = 30;
+    private static final int WARM_UP_GAMES = 200;
+    private static final int GAMES = 300;
+    /**
+     * Bytes a whole run may allocate beyond its budget, for one-off
+     * allocations that do not grow with the game, such as a counter cell.
+     */
+    private static final long ONE_OFF_BYTES = 16 * 1024;
+
+    private static com.sun.management.ThreadMXBean threads;
+
+    @BeforeAll
+    static void enableCounter() {
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "this JVM cannot count allocated bytes");
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    void engineDoesNotAllocate() {
+        check(Setup.ENGINE);
+    }
+
+    @Test
+    void listenersDoNotAllocate() {
+        check(Setup.GAME);
+    }
+
+    @Test
+    void unwatchedBroadcastDoesNotAllocate() {
+        check(Setup.BROADCAST);
+    }
+
+    @Test
+    void watchedBroadcastAllocatesOnlyFrames() {
+        check(Setup.WATCHED);
+    }
+
+    private static void check(Setup setup) {
+        Run run = new Run(setup);
+        run.play(WARM_UP_GAMES);
+        run.reset();
+        run.play(GAMES);
+        String name = setup.name().toLowerCase();
+        assertTrue(run.clickBytes <= setup.clickBudget * run.clicks + ONE_OFF_BYTES,
+                () -> String.format("%s: %.2f bytes per click, budget %d", name,
+                        run.clickBytes / (double) run.clicks, setup.clickBudget));
+        assertTrue(run.levelBytes <= setup.levelBudget * run.levels + ONE_OFF_BYTES,
+                () -> String.format("%s: %.2f bytes per level, budget %d", name,
+                        run.levelBytes / (double) run.levels, setup.levelBudget));
+        assertTrue(run.gameBytes <= setup.gameBudget * GAMES + ONE_OFF_BYTES,
+                () -> String.format("%s: %.2f bytes per game start, budget %d", name,
+                        run.gameBytes / (double) GAMES, setup.gameBudget));
+    }
+
+    /**
+     * The setups that are measured, with their budgets in bytes per click,
+     * per level and per game start: the bare engine, the engine with the
+     * listeners of the UI, those plus a broadcast nobody watches, and a
+     * broadcast with one spectator, where every event needs a new frame.
+     * Every game start may allocate the generator's new random.
+     */
+    private enum Setup {
+        ENGINE(0, 0, 64),
+        GAME(0, 0, 64),
+        BROADCAST(0, 0, 64),
+        WATCHED(128, 4096, 4096);
+
+        final long clickBudget;
+        final long levelBudget;
+        final long gameBudget;
+
+        Setup(long clickBudget, long levelBudget, long gameBudget) {
+            this.clickBudget = clickBudget;
+            this.levelBudget = levelBudget;
+            this.gameBudget = gameBudget;
+        }
+    }
+
+    /**
+     * One engine with the listeners of a setup, and the bytes counted so far.
+     */
+    private static class Run {
+        private final VirtualScheduler scheduler = new VirtualScheduler();
+        private final InputRing input = new InputRing(64);
+        private final GameEngine engine;
+        private final InputRing.Handler clicker;
+        private final long thread = Thread.currentThread().getId();
+
+        private long clicks;
+        private long levels;
+        private long clickBytes;
+        private long levelBytes;
+        private long gameBytes;
+
+        Run(Setup setup) {
+            GameListener listener = new GameListener() {
+            };
+            HudListener hudListener = null;
+            MetricsListener metricsListener = null;
+            ReactionTracker reactions = null;
+            BroadcastListener broadcastListener = null;
+            if (setup != Setup.ENGINE) {
+                hudListener = new HudListener(new HudModel());
+                metricsListener = new MetricsListener(new MetricsRegistry());
+                reactions = new ReactionTracker();
+                listener = new CompositeListener(hudListener, metricsListener, reactions);
+            }
+            if (setup == Setup.BROADCAST || setup == Setup.WATCHED) {
+                Broadcaster broadcaster = new Broadcaster(ROWS, COLS, Runnable::run);
+                if (setup == Setup.WATCHED) {
+                    broadcaster.subscribe(new Spectator());
+                }
+                broadcastListener = new BroadcastListener(broadcaster);
+                listener = new CompositeListener(listener, broadcastListener);
+            }
+            engine = new GameEngine(ROWS, COLS, LIVES, "Bot", scheduler,
+                    new NoRepeatGenerator(ROWS * COLS, 1, 1), listener);
+            if (hudListener != null) {
+                hudListener.attach(engine);
+                metricsListener.attach(engine);
+                reactions.attach(engine, scheduler);
+            }
+            if (broadcastListener != null) {
+                broadcastListener.attach(engine);
+            }
+            // clicks go through the input ring, like they do in the UI
+            clicker = (tile, source, stampNanos) -> engine.click(tile);
+        }
+
+        void reset() {
+            clicks = 0;
+            levels = 0;
+            clickBytes = 0;
+            levelBytes = 0;
+            gameBytes = 0;
+        }
+
+        void play(int games) {
+            Sequence sequence = engine.getSequence();
+            for (int game = 0; game < games; game++) {
+                long before = allocated();
+                if (engine.getLevel() == 0) {
+                    engine.start();
+                } else {
+                    engine.restart();
+                }
+                long started = allocated();
+                gameBytes += started - before;
+                before = started;
+                while (true) {
+                    scheduler.runUntilIdle();
+                    long afterLevel = allocated();
+                    levelBytes += afterLevel - before;
+                    if (engine.getState() == GameEngine.State.GAME_OVER) {
+                        break;
+                    }
+                    int tile = sequence.getExpectedTile();
+                    if (engine.getLevel() > MAX_LEVEL) {
+                        tile = (tile + 1) % (ROWS * COLS);
+                    }
+                    input.offer(tile, InputRing.SOURCE_MOUSE, scheduler.nanoTime());
+                    input.drain(clicker);
+                    before = allocated();
+                    clickBytes += before - afterLevel;
+                    clicks++;
+                }
+                levels += engine.getLevel();
+            }
+        }
+
+        private long allocated() {
+            return threads.getThreadAllocatedBytes(thread);
+        }
+    }
+
+    /**
+     * Rebuilds the board from every frame it is sent.
+     */
+    private static class Spectator implements Flow.Subscriber<Frame> {
+        private final BoardState state = new BoardState(ROWS, COLS);
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(Frame frame) {
+            state.apply(frame.getData());
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            throw new AssertionError("spectator failed", throwable);
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.memorytiles.memorytilesgame.engine;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The GameEngineTest class plays the engine headless on a VirtualScheduler
+ * and checks the states it goes through and the events it sends.
+ */
+public class GameEngineTest {
+    private static final int ROWS = 3;
+    private static final int COLS = 3;
+    private static final int LIVES = 2;
+
+    private final VirtualScheduler scheduler = new VirtualScheduler();
+    private final List<String> events = new ArrayList<>();
+    private GameEngine engine;
+
+    @BeforeEach
+    void createEngine() {
+        engine = new GameEngine(ROWS, COLS, LIVES, "Tester", scheduler,
+                new NoRepeatGenerator(ROWS * COLS, 1, 7), new Recorder());
+    }
+
+    @Test
+    void playsTheSequenceThenWaitsForInput() {
+        engine.start();
+        assertEquals(GameEngine.State.SHOWING_SEQUENCE, engine.getState());
+        assertEquals(1, engine.getLevel());
+        assertFalse(engine.click(engine.getSequence().getExpectedTile()), "clicks are ignored while showing");
+
+        scheduler.runUntilIdle();
+        assertEquals(GameEngine.State.AWAITING_INPUT, engine.getState());
+        int tile = engine.getSequence().tileAt(0);
+        assertEquals(List.of("level 1", "shown " + tile, "hidden " + tile, "finished"), events);
+        assertTrue(scheduler.nanoTime() > 0, "the sequence takes virtual time");
+    }
+
+    @Test
+    void correctClicksStartTheNextLevel() {
+        engine.start();
+        scheduler.runUntilIdle();
+        int first = engine.getSequence().tileAt(0);
+
+        assertTrue(engine.click(first));
+        assertEquals(GameEngine.State.LEVEL_COMPLETE, engine.getState());
+        assertEquals(1, engine.getScoreHelper().getScore());
+
+        scheduler.runUntilIdle();
+        assertEquals(2, engine.getLevel());
+        assertEquals(2, engine.getSequence().size());
+        assertEquals(first, engine.getSequence().tileAt(0), "earlier steps are kept");
+        assertEquals(GameEngine.State.AWAITING_INPUT, engine.getState());
+
+        assertTrue(engine.click(engine.getSequence().tileAt(0)));
+        assertEquals(GameEngine.State.AWAITING_INPUT, engine.getState());
+        assertTrue(engine.click(engine.getSequence().tileAt(1)));
+        assertEquals(GameEngine.State.LEVEL_COMPLETE, engine.getState());
+        assertEquals(3, engine.getScoreHelper().getScore());
+    }
+
+    @Test
+    void wrongTileCostsALifeAndLetsThePlayerRetry() {
+        engine.start();
+        scheduler.runUntilIdle();
+        events.clear();
+
+        assertFalse(engine.click(wrongTile()));
+        assertEquals(GameEngine.State.WRONG_TILE, engine.getState());
+        assertEquals(LIVES - 1, engine.getLives());
+
+        scheduler.runUntilIdle();
+        assertEquals(GameEngine.State.AWAITING_INPUT, engine.getState());
+        assertEquals(List.of("wrong " + wrongTile() + " " + (LIVES - 1), "retry"), events);
+        assertTrue(engine.click(engine.getSequence().getExpectedTile()), "the retry starts from the same step");
+    }
+
+    @Test
+    void lastLifeEndsTheGame() {
+        engine.start();
+        scheduler.runUntilIdle();
+        assertTrue(engine.click(engine.getSequence().getExpectedTile()));
+        scheduler.runUntilIdle();
+
+        for (int life = LIVES; life > 0; life--) {
+            engine.click(wrongTile());
+            scheduler.runUntilIdle();
+        }
+        assertEquals(GameEngine.State.GAME_OVER, engine.getState());
+        assertEquals(0, engine.getLives());
+        assertEquals("game over 1", events.get(events.size() - 1));
+        assertFalse(scheduler.hasPending());
+    }
+
+    @Test
+    void restartStartsAFreshGame() {
+        engine.start();
+        scheduler.runUntilIdle();
+        engine.click(engine.getSequence().getExpectedTile());
+        scheduler.runUntilIdle();
+        engine.click(wrongTile());
+
+        engine.restart();
+        assertEquals(1, engine.getLevel());
+        assertEquals(LIVES, engine.getLives());
+        assertEquals(0, engine.getScoreHelper().getScore());
+        assertEquals(1, engine.getSequence().size());
+        scheduler.runUntilIdle();
+        assertEquals(GameEngine.State.AWAITING_INPUT, engine.getState());
+    }
+
+    private int wrongTile() {
+        return (engine.getSequence().getExpectedTile() + 1) % (ROWS * COLS);
+    }
+
+    /**
+     * Writes every event down as a short string.
+     */
+    private class Recorder implements GameListener {
+        @Override
+        public void onLevelStarted(int level) {
+            events.add("level " + level);
+        }
+
+        @Override
+        public void onStepShown(int tile, int color, int note) {
+            events.add("shown " + tile);
+        }
+
+        @Override
+        public void onStepHidden(int tile) {
+            events.add("hidden " + tile);
+        }
+
+        @Override
+        public void onSequenceFinished() {
+            events.add("finished");
+        }
+
+        @Override
+        public void onWrongTile(int tile, int livesLeft) {
+            events.add("wrong " + tile + " " + livesLeft);
+        }
+
+        @Override
+        public void onRetry() {
+            events.add("retry");
+        }
+
+        @Override
+        public void onGameOver(int score) {
+            events.add("game over " + score);
+        }
+    }
+}
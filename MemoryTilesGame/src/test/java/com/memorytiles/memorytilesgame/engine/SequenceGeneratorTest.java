@@ -0,0 +1,108 @@
+package com.memorytiles.memorytilesgame.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The SequenceGeneratorTest class checks that the seeded generators are
+ * reproducible and keep to their constraints.
+ */
+public class SequenceGeneratorTest {
+    private static final int STEPS = 500;
+
+    @Test
+    void sameSeedGivesTheSameSequence() {
+        checkReproducible(seed -> new NoRepeatGenerator(16, 3, seed));
+        checkReproducible(seed -> new SpreadGenerator(4, 4, 2, seed));
+    }
+
+    @Test
+    void differentSeedsGiveDifferentSequences() {
+        assertFalse(Arrays.equals(steps(new NoRepeatGenerator(16, 1, 1)), steps(new NoRepeatGenerator(16, 1, 2))));
+    }
+
+    @Test
+    void everyGameCanBeRebuiltFromItsSeed() {
+        NoRepeatGenerator generator = new NoRepeatGenerator(9, 2, 99);
+        long firstSeed = generator.getSeed();
+        generate(generator);
+        for (int game = 0; game < 3; game++) {
+            generator.reset();
+            assertNotEquals(firstSeed, generator.getSeed(), "each game gets a new seed");
+            long seed = generator.getSeed();
+            assertArrayEquals(steps(new NoRepeatGenerator(9, 2, seed)), steps(generator),
+                    "game " + game + " rebuilt from getSeed()");
+        }
+    }
+
+    @Test
+    void noRepeatAvoidsTheLastKTiles() {
+        for (int k = 1; k <= 5; k++) {
+            Sequence sequence = generate(new NoRepeatGenerator(9, k, k));
+            for (int i = 0; i < sequence.size(); i++) {
+                for (int back = 1; back <= k && back <= i; back++) {
+                    assertNotEquals(sequence.tileAt(i - back), sequence.tileAt(i),
+                            "k = " + k + ", step " + i + " repeats the tile " + back + " back");
+                }
+            }
+        }
+    }
+
+    @Test
+    void noRepeatWindowIsCappedSoATileIsAlwaysFree() {
+        Sequence sequence = generate(new NoRepeatGenerator(3, 10, 5));
+        for (int i = 2; i < sequence.size(); i++) {
+            assertNotEquals(sequence.tileAt(i - 1), sequence.tileAt(i));
+            assertNotEquals(sequence.tileAt(i - 2), sequence.tileAt(i));
+        }
+    }
+
+    @Test
+    void spreadKeepsItsDistance() {
+        int rows = 5;
+        int cols = 6;
+        int distance = 2;
+        Sequence sequence = generate(new SpreadGenerator(rows, cols, distance, 3));
+        for (int i = 1; i < sequence.size(); i++) {
+            int a = sequence.tileAt(i - 1);
+            int b = sequence.tileAt(i);
+            int apart = Math.max(Math.abs(a / cols - b / cols), Math.abs(a % cols - b % cols));
+            assertTrue(apart >= distance, "step " + i + " is only " + apart + " away");
+        }
+    }
+
+    private static void checkReproducible(LongFunction<SequenceGenerator> factory) {
+        for (long seed = 0; seed < 5; seed++) {
+            assertArrayEquals(steps(factory.apply(seed)), steps(factory.apply(seed)), "seed " + seed);
+        }
+    }
+
+    private static Sequence generate(SequenceGenerator generator) {
+        Sequence sequence = new Sequence();
+        for (int i = 0; i < STEPS; i++) {
+            generator.addStep(sequence);
+        }
+        return sequence;
+    }
+
+    /**
+     * Returns the tile, color and note of every generated step.
+     */
+    private static int[] steps(SequenceGenerator generator) {
+        Sequence sequence = generate(generator);
+        int[] steps = new int[sequence.size() * 3];
+        for (int i = 0; i < sequence.size(); i++) {
+            steps[3 * i] = sequence.tileAt(i);
+            steps[3 * i + 1] = sequence.colorAt(i);
+            steps[3 * i + 2] = sequence.noteAt(i);
+        }
+        return steps;
+    }
+}
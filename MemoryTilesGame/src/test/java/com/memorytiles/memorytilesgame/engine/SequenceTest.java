@@ -0,0 +1,84 @@
+package com.memorytiles.memorytilesgame.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The SequenceTest class checks that steps read back as they were added,
+ * including silent steps, and that clicks are checked in order.
+ */
+public class SequenceTest {
+
+    @Test
+    void stepsReadBackAsAdded() {
+        Sequence sequence = new Sequence();
+        sequence.add(48, Sequence.COLOR_COUNT - 1, Sequence.NOTE_COUNT - 1);
+        sequence.add(0, 0, 0);
+        sequence.add(7, 3, -1);
+
+        assertEquals(3, sequence.size());
+        assertEquals(48, sequence.tileAt(0));
+        assertEquals(Sequence.COLOR_COUNT - 1, sequence.colorAt(0));
+        assertEquals(Sequence.NOTE_COUNT - 1, sequence.noteAt(0));
+        assertEquals(0, sequence.noteAt(1));
+        assertEquals(7, sequence.tileAt(2));
+        assertEquals(3, sequence.colorAt(2));
+        assertEquals(-1, sequence.noteAt(2), "a silent step keeps its negative note");
+    }
+
+    @Test
+    void clicksAreCheckedInOrder() {
+        Sequence sequence = new Sequence();
+        sequence.add(2, 0, 0);
+        sequence.add(5, 0, 0);
+
+        assertFalse(sequence.verify(5));
+        assertTrue(sequence.verify(2));
+        assertFalse(sequence.isComplete());
+        assertTrue(sequence.verify(5));
+        assertTrue(sequence.isComplete());
+    }
+
+    @Test
+    void silentStepReachesTheListenerAsSilent() {
+        List<Integer> notes = new ArrayList<>();
+        SequenceGenerator silent = new SequenceGenerator() {
+            @Override
+            public void addStep(Sequence sequence) {
+                sequence.add(sequence.size() % 4, 0, -1);
+            }
+
+            @Override
+            public void reset() {
+            }
+
+            @Override
+            public long getSeed() {
+                return 0;
+            }
+        };
+        VirtualScheduler scheduler = new VirtualScheduler();
+        GameEngine engine = new GameEngine(2, 2, 1, "Tester", scheduler, silent, new GameListener() {
+            @Override
+            public void onStepShown(int tile, int color, int note) {
+                notes.add(note);
+            }
+
+            @Override
+            public void onCorrectClick(int tile, int color, int note) {
+                notes.add(note);
+            }
+        });
+        engine.start();
+        scheduler.runUntilIdle();
+        engine.click(0);
+
+        assertEquals(List.of(-1, -1), notes);
+    }
+}
@@ -0,0 +1,114 @@
+package com.memorytiles.memorytilesgame.input;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The InputRingTest class checks that the input ring keeps events in
+ * order across the end of its arrays, refuses events when full, and
+ * hands every event over exactly once between two threads.
+ */
+public class InputRingTest {
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertEquals(2, new InputRing(1).capacity());
+        assertEquals(2, new InputRing(2).capacity());
+        assertEquals(4, new InputRing(3).capacity());
+        assertEquals(8, new InputRing(8).capacity());
+        assertEquals(16, new InputRing(9).capacity());
+        assertEquals(64, new InputRing(64).capacity());
+    }
+
+    @Test
+    void eventsComeOutInOrderAcrossTheWrap() {
+        InputRing ring = new InputRing(8);
+        List<long[]> drained = new ArrayList<>();
+        InputRing.Handler handler = (tile, source, stamp) -> drained.add(new long[]{tile, source, stamp});
+
+        int next = 0;
+        for (int round = 0; round < 10; round++) {
+            // five at a time, so the slots used move round the ring
+            for (int i = 0; i < 5; i++, next++) {
+                assertTrue(ring.offer(next, next % 2, 1000L + next));
+            }
+            assertEquals(5, ring.size());
+            assertEquals(5, ring.drain(handler));
+            assertEquals(0, ring.size());
+        }
+
+        assertEquals(next, drained.size());
+        for (int i = 0; i < next; i++) {
+            long[] event = drained.get(i);
+            assertEquals(i, event[0]);
+            assertEquals(i % 2, event[1]);
+            assertEquals(1000L + i, event[2]);
+        }
+    }
+
+    @Test
+    void fullRingRefusesEventsWithoutOverwriting() {
+        InputRing ring = new InputRing(4);
+        for (int i = 0; i < ring.capacity(); i++) {
+            assertTrue(ring.offer(i, InputRing.SOURCE_KEY, i));
+        }
+        assertFalse(ring.offer(99, InputRing.SOURCE_KEY, 99));
+        assertEquals(ring.capacity(), ring.size());
+
+        List<Integer> tiles = new ArrayList<>();
+        ring.drain((tile, source, stamp) -> tiles.add(tile));
+        assertEquals(List.of(0, 1, 2, 3), tiles);
+        assertTrue(ring.offer(4, InputRing.SOURCE_KEY, 4), "draining frees the slots");
+    }
+
+    @Test
+    void eventsAddedWhileDrainingWaitForTheNextDrain() {
+        InputRing ring = new InputRing(4);
+        ring.offer(1, InputRing.SOURCE_MOUSE, 1);
+        List<Integer> tiles = new ArrayList<>();
+        int drained = ring.drain((tile, source, stamp) -> {
+            tiles.add(tile);
+            ring.offer(tile + 1, InputRing.SOURCE_MOUSE, 0);
+        });
+        assertEquals(1, drained);
+        assertEquals(List.of(1), tiles);
+        assertEquals(1, ring.size());
+    }
+
+    @Test
+    void everyEventCrossesThreadsOnceAndInOrder() {
+        int events = 20_000;
+        InputRing ring = new InputRing(16);
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < events; i++) {
+                    while (!ring.offer(i, InputRing.SOURCE_KEY, i)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            producer.start();
+
+            int[] expected = {0};
+            while (expected[0] < events) {
+                if (ring.drain((tile, source, stamp) -> {
+                    assertEquals(expected[0], tile);
+                    assertEquals(expected[0], stamp);
+                    expected[0]++;
+                }) == 0) {
+                    Thread.yield();
+                }
+            }
+            producer.join();
+            assertEquals(0, ring.size());
+        });
+    }
+}
@@ -0,0 +1,44 @@
+package com.memorytiles.memorytilesgame.metrics;
+
+import com.memorytiles.memorytilesgame.engine.GameEngine;
+import com.memorytiles.memorytilesgame.engine.NoRepeatGenerator;
+import com.memorytiles.memorytilesgame.engine.VirtualScheduler;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The MetricsListenerTest class checks that boards sharing a registry
+ * each report their own sequence length and add up their counters.
+ */
+public class MetricsListenerTest {
+
+    @Test
+    void boardsReportTheirOwnSequenceLength() {
+        MetricsRegistry registry = new MetricsRegistry();
+        VirtualScheduler scheduler = new VirtualScheduler();
+        GameEngine first = board(registry, scheduler, 1);
+        GameEngine second = board(registry, scheduler, 2);
+
+        first.start();
+        second.start();
+        scheduler.runUntilIdle();
+        first.click(first.getSequence().getExpectedTile());
+        scheduler.runUntilIdle();
+
+        Map<String, Long> values = registry.snapshot();
+        assertEquals(2L, values.get("boards.1.sequence.length"));
+        assertEquals(1L, values.get("boards.2.sequence.length"));
+        assertEquals(3L, values.get("game.levels"));
+    }
+
+    private static GameEngine board(MetricsRegistry registry, VirtualScheduler scheduler, int board) {
+        MetricsListener listener = new MetricsListener(registry, board);
+        GameEngine engine = new GameEngine(2, 2, 1, "Player " + board, scheduler,
+                new NoRepeatGenerator(4, 1, board), listener);
+        listener.attach(engine);
+        return engine;
+    }
+}
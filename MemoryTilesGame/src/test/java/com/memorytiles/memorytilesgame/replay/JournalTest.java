@@ -0,0 +1,223 @@
+package com.memorytiles.memorytilesgame.replay;
+
+import com.memorytiles.memorytilesgame.engine.CompositeListener;
+import com.memorytiles.memorytilesgame.engine.GameEngine;
+import com.memorytiles.memorytilesgame.engine.GameListener;
+import com.memorytiles.memorytilesgame.engine.NoRepeatGenerator;
+import com.memorytiles.memorytilesgame.engine.Sequence;
+import com.memorytiles.memorytilesgame.engine.VirtualScheduler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The JournalTest class records games with a JournalWriter, reads them
+ * back with the JournalReader and replays them, checking that nothing
+ * was lost on the way.
+ */
+public class JournalTest {
+    private static final int ROWS = 3;
+    private static final int COLS = 4;
+    private static final int LIVES = 2;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordedGamesReadBackAsPlayed() throws IOException {
+        Path file = dir.resolve("session.journal");
+        VirtualScheduler scheduler = new VirtualScheduler();
+        JournalWriter journal = new JournalWriter(file, scheduler);
+        Played played = new Played();
+        GameEngine engine = new GameEngine(ROWS, COLS, LIVES, "Tester", scheduler,
+                new NoRepeatGenerator(ROWS * COLS, 1, 11), new CompositeListener(journal, played));
+        journal.attach(engine);
+        played.engine = engine;
+
+        engine.start();
+        play(engine, scheduler, 4);
+        engine.restart();
+        play(engine, scheduler, 2);
+        journal.close();
+
+        List<RecordedGame> games = JournalReader.read(file);
+        assertEquals(2, games.size());
+        for (int g = 0; g < games.size(); g++) {
+            RecordedGame game = games.get(g);
+            Played.Game expected = played.games.get(g);
+            assertEquals(ROWS, game.getRows());
+            assertEquals(COLS, game.getCols());
+            assertEquals(LIVES, game.getLives());
+            assertEquals(expected.seed, game.getSeed());
+            assertEquals(expected.score, game.getFinalScore());
+
+            Sequence sequence = expected.sequence;
+            assertEquals(sequence.size(), game.getStepCount());
+            for (int i = 0; i < sequence.size(); i++) {
+                assertEquals(sequence.tileAt(i), game.stepTile(i));
+                assertEquals(sequence.colorAt(i), game.stepColor(i));
+                assertEquals(sequence.noteAt(i), game.stepNote(i));
+            }
+
+            assertEquals(expected.clicks.size(), game.getClickCount());
+            for (int i = 0; i < game.getClickCount(); i++) {
+                assertEquals(expected.clicks.get(i), game.clickTile(i));
+                assertEquals(expected.correct.get(i), game.clickCorrect(i));
+                if (i > 0) {
+                    assertTrue(game.clickTime(i) > game.clickTime(i - 1), "click times go forward");
+                }
+            }
+        }
+    }
+
+    @Test
+    void replayEndsWithTheRecordedScore() throws IOException {
+        checkReplay(GameEngine.NEXT_LEVEL_DELAY_NANOS, 1.0);
+    }
+
+    @Test
+    void replayUsesTheRecordedLevelDelay() throws IOException {
+        checkReplay(200_000_000L, 1.0);
+    }
+
+    @Test
+    void replayKeepsInStepWhenTheEngineRunsSlower() throws IOException {
+        checkReplay(GameEngine.NEXT_LEVEL_DELAY_NANOS, 0.7);
+    }
+
+    @Test
+    void replayStopsWhenItDiverges() throws IOException {
+        RecordedGame game = record(dir.resolve("recorded.journal"), GameEngine.NEXT_LEVEL_DELAY_NANOS, 5);
+        RecordedGame other = record(dir.resolve("other.journal"), GameEngine.NEXT_LEVEL_DELAY_NANOS, 6);
+
+        // the clicks of one game against the steps of another
+        VirtualScheduler scheduler = new VirtualScheduler();
+        Replayer replayer = new Replayer(scheduler, game);
+        GameEngine replay = new GameEngine(ROWS, COLS, LIVES, "Replay", scheduler, new ReplayGenerator(other), replayer);
+        replayer.attach(replay);
+        replayer.start();
+        scheduler.runUntilIdle();
+
+        assertTrue(replayer.getDivergedClick() >= 0);
+        assertFalse(replayer.isFinished());
+    }
+
+    /**
+     * Records a game with the given pause between levels and replays it on
+     * a fresh engine whose sequence plays at the given tempo, checking
+     * that the replay ends the same way.
+     */
+    private void checkReplay(long levelDelayNanos, double replayTempo) throws IOException {
+        Path file = dir.resolve("replay-" + levelDelayNanos + "-" + replayTempo + ".journal");
+        RecordedGame game = record(file, levelDelayNanos, 6);
+        assertEquals(levelDelayNanos, game.getNextLevelDelay());
+
+        VirtualScheduler scheduler = new VirtualScheduler();
+        Replayer replayer = new Replayer(scheduler, game);
+        GameEngine replay = new GameEngine(game.getRows(), game.getCols(), game.getLives(), "Replay",
+                scheduler, new ReplayGenerator(game), replayer);
+        replay.setNextLevelDelay(game.getNextLevelDelay());
+        replay.getPlayer().setTempo(replayTempo);
+        replayer.attach(replay);
+        replayer.start();
+        scheduler.runUntilIdle();
+
+        assertEquals(-1, replayer.getDivergedClick());
+        assertTrue(replayer.isFinished());
+        assertEquals(GameEngine.State.GAME_OVER, replay.getState());
+        assertEquals(game.getFinalScore(), replay.getScoreHelper().getScore());
+        assertEquals(game.getStepCount(), replay.getLevel());
+    }
+
+    /**
+     * Plays one game up to the given level into a new journal and reads it back.
+     */
+    private static RecordedGame record(Path file, long levelDelayNanos, int maxLevel) throws IOException {
+        VirtualScheduler scheduler = new VirtualScheduler();
+        JournalWriter journal = new JournalWriter(file, scheduler);
+        GameEngine engine = new GameEngine(ROWS, COLS, LIVES, "Tester", scheduler,
+                new NoRepeatGenerator(ROWS * COLS, 2, maxLevel), journal);
+        engine.setNextLevelDelay(levelDelayNanos);
+        journal.attach(engine);
+        engine.start();
+        play(engine, scheduler, maxLevel);
+        journal.close();
+        return JournalReader.read(file).get(0);
+    }
+
+    /**
+     * Clicks every level right up to the given one, then wrong tiles until
+     * the game is over. Each click comes the moment the engine is ready
+     * for it, the hardest case for a replay to keep in step with.
+     */
+    private static void play(GameEngine engine, VirtualScheduler scheduler, int maxLevel) {
+        while (true) {
+            scheduler.runUntilIdle();
+            if (engine.getState() == GameEngine.State.GAME_OVER) {
+                return;
+            }
+            int tile = engine.getSequence().getExpectedTile();
+            if (engine.getLevel() > maxLevel) {
+                tile = (tile + 1) % (ROWS * COLS);
+            }
+            engine.click(tile);
+        }
+    }
+
+    /**
+     * Keeps what actually happened in each game, to compare with the journal.
+     */
+    private static class Played implements GameListener {
+        private final List<Game> games = new ArrayList<>();
+        private GameEngine engine;
+
+        static class Game {
+            long seed;
+            int score;
+            final Sequence sequence = new Sequence();
+            final List<Integer> clicks = new ArrayList<>();
+            final List<Boolean> correct = new ArrayList<>();
+        }
+
+        private Game current() {
+            return games.get(games.size() - 1);
+        }
+
+        @Override
+        public void onLevelStarted(int level) {
+            if (level == 1) {
+                Game game = new Game();
+                game.seed = engine.getGenerator().getSeed();
+                games.add(game);
+            }
+            Sequence sequence = engine.getSequence();
+            int last = sequence.size() - 1;
+            current().sequence.add(sequence.tileAt(last), sequence.colorAt(last), sequence.noteAt(last));
+        }
+
+        @Override
+        public void onCorrectClick(int tile, int color, int note) {
+            current().clicks.add(tile);
+            current().correct.add(true);
+        }
+
+        @Override
+        public void onWrongTile(int tile, int livesLeft) {
+            current().clicks.add(tile);
+            current().correct.add(false);
+        }
+
+        @Override
+        public void onGameOver(int score) {
+            current().score = score;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.memorytiles.memorytilesgame.scores;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The ScoreStoreTest class checks that a damaged leaderboard log keeps
+ * every record that can still be read, and backs up only the bytes
+ * that cannot, once.
+ */
+public class ScoreStoreTest {
+    /** The size of a player record with a three letter name. */
+    private static final int PLAYER_RECORD = 4 + 1 + 2 + 3 + 4;
+    private static final int SCORE_RECORD = 4 + 1 + 28 + 4;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordsAfterADamagedOneAreKept() throws IOException {
+        Path file = writeLog();
+        byte[] original = Files.readAllBytes(file);
+        // damage the second score of Ann
+        int from = PLAYER_RECORD + SCORE_RECORD;
+        byte[] damaged = original.clone();
+        damaged[from + 20] ^= 0x5A;
+        Files.write(file, damaged);
+
+        try (ScoreStore store = ScoreStore.open(file)) {
+            assertEquals(3, store.size());
+            assertEquals(List.of(40, 30, 10), scores(store.topOverall(10)));
+            assertEquals(List.of(30, 10), scores(store.topForPlayer("Ann", 10)));
+            assertEquals(List.of(40), scores(store.topForPlayer("Bob", 10)));
+        }
+
+        List<Path> backups = backups(file);
+        assertEquals(1, backups.size());
+        assertArrayEquals(Arrays.copyOfRange(damaged, from, from + SCORE_RECORD), Files.readAllBytes(backups.get(0)));
+        assertEquals(original.length - SCORE_RECORD, Files.size(file));
+
+        try (ScoreStore store = ScoreStore.open(file)) {
+            assertEquals(3, store.size());
+            store.add(new ScoreRecord("Bob", 4, 4, 3, 50, 5));
+        }
+        assertEquals(1, backups(file).size(), "the bad bytes are only backed up once");
+        try (ScoreStore store = ScoreStore.open(file)) {
+            assertEquals(List.of(50, 40, 30, 10), scores(store.topOverall(10)));
+        }
+    }
+
+    @Test
+    void recordCutOffAtTheEndIsBackedUp() throws IOException {
+        Path file = writeLog();
+        byte[] original = Files.readAllBytes(file);
+        int cut = original.length - 5;
+        Files.write(file, Arrays.copyOf(original, cut));
+
+        try (ScoreStore store = ScoreStore.open(file)) {
+            assertEquals(List.of(30, 20, 10), scores(store.topOverall(10)));
+        }
+        List<Path> backups = backups(file);
+        assertEquals(1, backups.size());
+        assertArrayEquals(Arrays.copyOfRange(original, original.length - SCORE_RECORD, cut),
+                Files.readAllBytes(backups.get(0)));
+    }
+
+    /**
+     * Writes three games of Ann and then one of Bob.
+     */
+    private Path writeLog() throws IOException {
+        Path file = dir.resolve("scores.log");
+        try (ScoreStore store = ScoreStore.open(file)) {
+            store.add(new ScoreRecord("Ann", 3, 3, 3, 10, 1));
+            store.add(new ScoreRecord("Ann", 3, 3, 3, 20, 2));
+            store.add(new ScoreRecord("Ann", 4, 4, 3, 30, 3));
+            store.add(new ScoreRecord("Bob", 4, 4, 3, 40, 4));
+        }
+        return file;
+    }
+
+    private List<Path> backups(Path file) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().startsWith(file.getFileName() + ".unreadable-"))
+                    .toList();
+        }
+    }
+
+    private static List<Integer> scores(List<ScoreRecord> records) {
+        return records.stream().map(ScoreRecord::getScore).toList();
+    }
+}
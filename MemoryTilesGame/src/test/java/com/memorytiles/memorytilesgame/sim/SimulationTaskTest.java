@@ -0,0 +1,39 @@
+package com.memorytiles.memorytilesgame.sim;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The SimulationTaskTest class checks that simulated games give the same
+ * results however the range of games is split.
+ */
+public class SimulationTaskTest {
+    private static final int GAMES = 1200;
+
+    @Test
+    void resultsDoNotDependOnTheSplit() {
+        BotPlayer bot = BotPlayer.noisy(0.9);
+        ScoreDistribution whole = ForkJoinPool.commonPool().invoke(task(bot, 0, GAMES));
+
+        ScoreDistribution pieces = task(bot, 0, 1).invoke();
+        pieces.merge(task(bot, 1, 777).invoke());
+        pieces.merge(task(bot, 777, GAMES).invoke());
+
+        assertEquals(GAMES, whole.getGames());
+        assertEquals(whole.getGames(), pieces.getGames());
+        assertEquals(whole.getMeanScore(), pieces.getMeanScore(), 1e-9);
+        assertEquals(whole.getMeanLevels(), pieces.getMeanLevels(), 1e-9);
+        assertEquals(whole.getCappedFraction(), pieces.getCappedFraction(), 1e-9);
+        assertEquals(whole.getMaxScore(), pieces.getMaxScore());
+        for (double p : new double[]{0.1, 0.5, 0.9}) {
+            assertEquals(whole.percentile(p), pieces.percentile(p), "percentile " + p);
+        }
+    }
+
+    private static SimulationTask task(BotPlayer bot, int from, int to) {
+        return new SimulationTask(3, 3, 2, bot, 20, 42, from, to);
+    }
+}
@@ -0,0 +1,61 @@
+package com.memorytiles.memorytilesgame.stats;
+
+import com.memorytiles.memorytilesgame.engine.GameEngine;
+import com.memorytiles.memorytilesgame.engine.NoRepeatGenerator;
+import com.memorytiles.memorytilesgame.engine.VirtualScheduler;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The ReactionTrackerTest class checks that reactions are timed from when
+ * a click arrived, not from when the engine handled it.
+ */
+public class ReactionTrackerTest {
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void clicksAreTimedFromTheirStamp() {
+        VirtualScheduler scheduler = new VirtualScheduler();
+        ReactionTracker reactions = new ReactionTracker();
+        GameEngine engine = new GameEngine(2, 2, 1, "Tester", scheduler,
+                new NoRepeatGenerator(4, 1, 5), reactions);
+        reactions.attach(engine, scheduler);
+        engine.start();
+        scheduler.runUntilIdle();
+
+        // each click waits in the queue for a while before it is handled
+        long ready = scheduler.nanoTime();
+        scheduler.advanceBy(300 * MS);
+        engine.click(engine.getSequence().getExpectedTile(), ready + 200 * MS);
+        scheduler.runUntilIdle();
+
+        ready = scheduler.nanoTime();
+        scheduler.advanceBy(150 * MS);
+        engine.click(engine.getSequence().getExpectedTile(), ready + 100 * MS);
+        scheduler.advanceBy(250 * MS);
+        engine.click(engine.getSequence().getExpectedTile(), ready + 250 * MS);
+
+        ReactionTimes times = reactions.getCurrent();
+        assertEquals(2, times.getFirstClick().getCount());
+        assertEquals(200 * MS, times.getFirstClick().getMaxNanos());
+        assertEquals(1, times.getBetweenClicks().getCount());
+        assertEquals(150 * MS, times.getBetweenClicks().getMaxNanos());
+    }
+
+    @Test
+    void unstampedClicksAreTimedWhenHandled() {
+        VirtualScheduler scheduler = new VirtualScheduler();
+        ReactionTracker reactions = new ReactionTracker();
+        GameEngine engine = new GameEngine(2, 2, 1, "Tester", scheduler,
+                new NoRepeatGenerator(4, 1, 5), reactions);
+        reactions.attach(engine, scheduler);
+        engine.start();
+        scheduler.runUntilIdle();
+
+        scheduler.advanceBy(300 * MS);
+        engine.click(engine.getSequence().getExpectedTile());
+
+        assertEquals(300 * MS, reactions.getCurrent().getFirstClick().getMaxNanos());
+    }
+}